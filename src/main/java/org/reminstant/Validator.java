@@ -39,4 +39,11 @@ public class Validator {
     }
   }
 
+  public static void requireFromIndexSize(long fromIndex, long size, long length, String rangeName) {
+    if ((fromIndex | size) < 0 || size > length - fromIndex) {
+      throw new IndexOutOfBoundsException("%s [%d, %d + %d) is out of bounds for length %d"
+          .formatted(rangeName, fromIndex, fromIndex, size, length));
+    }
+  }
+
 }
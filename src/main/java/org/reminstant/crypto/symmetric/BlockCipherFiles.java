@@ -0,0 +1,127 @@
+package org.reminstant.crypto.symmetric;
+
+import org.reminstant.Validator;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// In-place file encryption over memory-mapped windows, the file layout matches BlockCipherOutputStream:
+// whole blocks are transformed where they lie and the padded tail block is appended (or stripped on decryption).
+// The tail goes through the channel before any window is mapped, since some platforms refuse to resize a file
+// while a mapping of it is still alive
+public final class BlockCipherFiles {
+
+  public static final long DEFAULT_WINDOW_BYTE_SIZE = 1L << 26;
+
+  // FileChannel.map limit
+  private static final long MAX_WINDOW_BYTE_SIZE = Integer.MAX_VALUE;
+
+  private BlockCipherFiles() {
+
+  }
+
+  public static void encryptInPlace(Path file, MultiBlockEncryptor encryptor) throws IOException {
+    Validator.requireNonNull(file, "file");
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      encryptInPlace(channel, encryptor, DEFAULT_WINDOW_BYTE_SIZE);
+    }
+  }
+
+  public static void decryptInPlace(Path file, MultiBlockEncryptor encryptor) throws IOException {
+    Validator.requireNonNull(file, "file");
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      decryptInPlace(channel, encryptor, DEFAULT_WINDOW_BYTE_SIZE);
+    }
+  }
+
+  public static void encryptInPlace(FileChannel channel, MultiBlockEncryptor encryptor,
+                                    long windowByteSize) throws IOException {
+    validateArguments(channel, encryptor, windowByteSize);
+
+    int blockByteSize = encryptor.getBlockByteSize();
+    long size = channel.size();
+    int tailLength = (int) (size % blockByteSize);
+    long wholeBlocksSize = size - tailLength;
+
+    ByteBuffer tail = ByteBuffer.allocate(blockByteSize);
+    readFully(channel, tail, wholeBlocksSize, tailLength);
+    BlockPadding.pad(tail.array(), 0, tailLength, blockByteSize);
+    encryptor.encryptBlocks(tail.array(), 0, 1);
+    writeFully(channel, tail.clear(), wholeBlocksSize);
+
+    transformWindows(channel, encryptor, windowByteSize, wholeBlocksSize, true);
+  }
+
+  public static void decryptInPlace(FileChannel channel, MultiBlockEncryptor encryptor,
+                                    long windowByteSize) throws IOException {
+    validateArguments(channel, encryptor, windowByteSize);
+
+    int blockByteSize = encryptor.getBlockByteSize();
+    long size = channel.size();
+    if (size == 0 || size % blockByteSize != 0) {
+      throw new IOException("Ciphertext is truncated: length is not a positive multiple of %d bytes"
+          .formatted(blockByteSize));
+    }
+
+    long lastBlockOffset = size - blockByteSize;
+    ByteBuffer lastBlock = ByteBuffer.allocate(blockByteSize);
+    readFully(channel, lastBlock, lastBlockOffset, blockByteSize);
+    encryptor.decryptBlocks(lastBlock.array(), 0, 1);
+    int lastBlockLength = BlockPadding.unpaddedLength(lastBlock.array(), 0, blockByteSize);
+    if (lastBlockLength < 0) {
+      throw new IOException("Malformed padding");
+    }
+
+    channel.truncate(lastBlockOffset + lastBlockLength);
+    writeFully(channel, lastBlock.clear().limit(lastBlockLength), lastBlockOffset);
+
+    transformWindows(channel, encryptor, windowByteSize, lastBlockOffset, false);
+  }
+
+
+
+  private static void transformWindows(FileChannel channel, MultiBlockEncryptor encryptor, long windowByteSize,
+                                       long length, boolean forEncryption) throws IOException {
+    int blockByteSize = encryptor.getBlockByteSize();
+    long cappedWindowByteSize = Math.min(windowByteSize, MAX_WINDOW_BYTE_SIZE);
+    long alignedWindowByteSize = Math.max(blockByteSize, cappedWindowByteSize - cappedWindowByteSize % blockByteSize);
+
+    for (long position = 0; position < length; position += alignedWindowByteSize) {
+      long windowSize = Math.min(alignedWindowByteSize, length - position);
+      MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_WRITE, position, windowSize);
+      if (forEncryption) {
+        encryptor.encryptBlocks(window);
+      } else {
+        encryptor.decryptBlocks(window);
+      }
+      window.force();
+    }
+  }
+
+  private static void readFully(FileChannel channel, ByteBuffer buffer, long position, int length)
+      throws IOException {
+    buffer.limit(length);
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer, position + buffer.position()) < 0) {
+        throw new IOException("Unexpected end of file");
+      }
+    }
+  }
+
+  private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+    while (buffer.hasRemaining()) {
+      channel.write(buffer, position + buffer.position());
+    }
+  }
+
+  private static void validateArguments(FileChannel channel, MultiBlockEncryptor encryptor,
+                                        long windowByteSize) {
+    Validator.requireNonNull(channel, "channel");
+    Validator.requireNonNull(encryptor, "encryptor");
+    Validator.requirePositive(windowByteSize, "windowByteSize");
+  }
+}
@@ -0,0 +1,142 @@
+package org.reminstant.crypto.symmetric;
+
+import org.reminstant.Validator;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+
+// Decrypts a stream written by BlockCipherOutputStream, the last complete block is held back
+// until the end of the underlying stream is reached so that its padding can be stripped
+public class BlockCipherInputStream extends FilterInputStream {
+
+  public static final int DEFAULT_BUFFER_BYTE_SIZE = 1 << 16;
+
+  private final MultiBlockEncryptor encryptor;
+  private final int blockByteSize;
+  private final byte[] buffer;
+  private int filledCount;
+  private int plainFrom;
+  private int plainTo;
+  private boolean endOfStream;
+
+  public BlockCipherInputStream(InputStream in, MultiBlockEncryptor encryptor, int bufferByteSize) {
+    super(in);
+    Validator.requireNonNull(in, "in");
+    Validator.requireNonNull(encryptor, "encryptor");
+    Validator.requirePositive(bufferByteSize, "bufferByteSize");
+
+    this.encryptor = encryptor;
+    this.blockByteSize = encryptor.getBlockByteSize();
+    int blockCount = Math.max(2, bufferByteSize / blockByteSize);
+    this.buffer = new byte[blockCount * blockByteSize];
+    this.filledCount = 0;
+    this.plainFrom = 0;
+    this.plainTo = 0;
+    this.endOfStream = false;
+  }
+
+  public BlockCipherInputStream(InputStream in, MultiBlockEncryptor encryptor) {
+    this(in, encryptor, DEFAULT_BUFFER_BYTE_SIZE);
+  }
+
+  @Override
+  public int read() throws IOException {
+    if (plainFrom == plainTo && !fill()) {
+      return -1;
+    }
+    return Byte.toUnsignedInt(buffer[plainFrom++]);
+  }
+
+  @Override
+  public int read(byte[] b, int off, int len) throws IOException {
+    Objects.checkFromIndexSize(off, len, b.length);
+    if (len == 0) {
+      return 0;
+    }
+    if (plainFrom == plainTo && !fill()) {
+      return -1;
+    }
+
+    int count = Math.min(len, plainTo - plainFrom);
+    System.arraycopy(buffer, plainFrom, b, off, count);
+    plainFrom += count;
+    return count;
+  }
+
+  @Override
+  public long skip(long n) throws IOException {
+    long skipped = 0;
+    while (skipped < n && (plainFrom < plainTo || fill())) {
+      int count = (int) Math.min(n - skipped, plainTo - plainFrom);
+      plainFrom += count;
+      skipped += count;
+    }
+    return skipped;
+  }
+
+  @Override
+  public int available() {
+    return plainTo - plainFrom;
+  }
+
+  @Override
+  public boolean markSupported() {
+    return false;
+  }
+
+  @Override
+  public synchronized void mark(int readLimit) {
+
+  }
+
+  @Override
+  public synchronized void reset() throws IOException {
+    throw new IOException("mark/reset not supported");
+  }
+
+
+
+  private boolean fill() throws IOException {
+    if (endOfStream) {
+      return false;
+    }
+
+    filledCount -= plainTo;
+    System.arraycopy(buffer, plainTo, buffer, 0, filledCount);
+    plainFrom = 0;
+    plainTo = 0;
+
+    while (filledCount < buffer.length) {
+      int count = in.read(buffer, filledCount, buffer.length - filledCount);
+      if (count < 0) {
+        endOfStream = true;
+        break;
+      }
+      filledCount += count;
+    }
+
+    if (!endOfStream) {
+      int blockCount = filledCount / blockByteSize - 1;
+      encryptor.decryptBlocks(buffer, 0, blockCount);
+      plainTo = blockCount * blockByteSize;
+      return true;
+    }
+
+    if (filledCount == 0 || filledCount % blockByteSize != 0) {
+      throw new IOException("Ciphertext is truncated: length is not a positive multiple of %d bytes"
+          .formatted(blockByteSize));
+    }
+    encryptor.decryptBlocks(buffer, 0, filledCount / blockByteSize);
+
+    int lastBlockOffset = filledCount - blockByteSize;
+    int lastBlockLength = BlockPadding.unpaddedLength(buffer, lastBlockOffset, blockByteSize);
+    if (lastBlockLength < 0) {
+      throw new IOException("Malformed padding");
+    }
+    plainTo = lastBlockOffset + lastBlockLength;
+    filledCount = plainTo;
+    return plainTo > 0;
+  }
+}
@@ -0,0 +1,111 @@
+package org.reminstant.crypto.symmetric;
+
+import org.reminstant.Validator;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Objects;
+
+// Encrypts written bytes block by block, the padded last block is written on close
+public class BlockCipherOutputStream extends FilterOutputStream {
+
+  public static final int DEFAULT_BUFFER_BYTE_SIZE = 1 << 16;
+
+  private final MultiBlockEncryptor encryptor;
+  private final int blockByteSize;
+  private final byte[] buffer;
+  private int bufferedCount;
+  private boolean closed;
+
+  public BlockCipherOutputStream(OutputStream out, MultiBlockEncryptor encryptor, int bufferByteSize) {
+    super(out);
+    Validator.requireNonNull(out, "out");
+    Validator.requireNonNull(encryptor, "encryptor");
+    Validator.requirePositive(bufferByteSize, "bufferByteSize");
+
+    this.encryptor = encryptor;
+    this.blockByteSize = encryptor.getBlockByteSize();
+    int blockCount = Math.max(1, bufferByteSize / blockByteSize);
+    this.buffer = new byte[blockCount * blockByteSize];
+    this.bufferedCount = 0;
+    this.closed = false;
+  }
+
+  public BlockCipherOutputStream(OutputStream out, MultiBlockEncryptor encryptor) {
+    this(out, encryptor, DEFAULT_BUFFER_BYTE_SIZE);
+  }
+
+  @Override
+  public void write(int b) throws IOException {
+    ensureOpen();
+    buffer[bufferedCount++] = (byte) b;
+    if (bufferedCount == buffer.length) {
+      flushBlocks();
+    }
+  }
+
+  @Override
+  public void write(byte[] b, int off, int len) throws IOException {
+    Objects.checkFromIndexSize(off, len, b.length);
+    ensureOpen();
+
+    while (len > 0) {
+      int count = Math.min(len, buffer.length - bufferedCount);
+      System.arraycopy(b, off, buffer, bufferedCount, count);
+      bufferedCount += count;
+      off += count;
+      len -= count;
+      if (bufferedCount == buffer.length) {
+        flushBlocks();
+      }
+    }
+  }
+
+  // only whole blocks can be flushed, the tail stays buffered until more data or close
+  @Override
+  public void flush() throws IOException {
+    ensureOpen();
+    flushBlocks();
+    out.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (closed) {
+      return;
+    }
+    closed = true;
+
+    try (OutputStream stream = out) {
+      flushBlocks();
+      BlockPadding.pad(buffer, 0, bufferedCount, blockByteSize);
+      encryptor.encryptBlocks(buffer, 0, 1);
+      stream.write(buffer, 0, blockByteSize);
+      bufferedCount = 0;
+      stream.flush();
+    }
+  }
+
+
+
+  private void flushBlocks() throws IOException {
+    int blockCount = bufferedCount / blockByteSize;
+    if (blockCount == 0) {
+      return;
+    }
+
+    int byteCount = blockCount * blockByteSize;
+    encryptor.encryptBlocks(buffer, 0, blockCount);
+    out.write(buffer, 0, byteCount);
+
+    bufferedCount -= byteCount;
+    System.arraycopy(buffer, byteCount, buffer, 0, bufferedCount);
+  }
+
+  private void ensureOpen() throws IOException {
+    if (closed) {
+      throw new IOException("Stream closed");
+    }
+  }
+}
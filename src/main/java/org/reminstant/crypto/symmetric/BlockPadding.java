@@ -0,0 +1,32 @@
+package org.reminstant.crypto.symmetric;
+
+// ISO/IEC 7816-4 padding: 0x80 followed by zeros up to the block boundary, always at least one byte,
+// unlike PKCS#7 it does not limit the block size to 255 bytes
+final class BlockPadding {
+
+  private static final byte PADDING_MARKER = (byte) 0x80;
+
+  private BlockPadding() {
+
+  }
+
+  static void pad(byte[] block, int offset, int dataLength, int blockByteSize) {
+    block[offset + dataLength] = PADDING_MARKER;
+    for (int i = dataLength + 1; i < blockByteSize; ++i) {
+      block[offset + i] = 0;
+    }
+  }
+
+  // returns the data length of the padded block or -1 if the padding is malformed
+  static int unpaddedLength(byte[] block, int offset, int blockByteSize) {
+    for (int i = blockByteSize - 1; i >= 0; --i) {
+      if (block[offset + i] == PADDING_MARKER) {
+        return i;
+      }
+      if (block[offset + i] != 0) {
+        return -1;
+      }
+    }
+    return -1;
+  }
+}
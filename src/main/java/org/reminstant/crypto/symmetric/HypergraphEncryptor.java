@@ -1,45 +1,73 @@
 package org.reminstant.crypto.symmetric;
 
 import org.reminstant.Validator;
-import org.reminstant.crypto.Bits;
-import org.reminstant.crypto.SymmetricEncryptor;
 import org.reminstant.math.graphtheory.hyper.HomogenousHypergraph;
 import org.reminstant.math.MathExtension;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.Arrays;
 import java.util.function.IntUnaryOperator;
 
-public class HypergraphEncryptor implements SymmetricEncryptor {
+public class HypergraphEncryptor implements MultiBlockEncryptor {
 
   public enum SmallBlockSizeUnit {
     BIT,
     BYTE
   }
 
+  // VECTOR needs --add-modules jdk.incubator.vector and falls back to SCALAR without it
+  public enum XorEngineType {
+    SCALAR,
+    VECTOR
+  }
+
   private static final Logger log = LoggerFactory.getLogger(HypergraphEncryptor.class);
-  private static final byte BIT_MODE_MASK = (byte) 0b1000_0000;
+  private static final int BIT_SLICE_LANES = Long.SIZE;
 
   private final int smallBlockBitSize;
   private final int blockBitSize;
   private final int batchBlockCount;
   private final int batchByteSize;
   private final int[][] hypergraphAdjacencyLists;
+  private final int[] smallBlockByteIndices;
+  private final int[] smallBlockBitShifts;
+  private final IntUnaryOperator encryptionVertexSelector;
+  private final IntUnaryOperator decryptionVertexSelector;
+  private final XorEngine xorEngine;
+
+  public HypergraphEncryptor(HomogenousHypergraph key, int smallBlockSize, SmallBlockSizeUnit unit,
+                             boolean batchModeWarnEnabled, XorEngineType xorEngineType,
+                             HypergraphKeyScheduleCache keyScheduleCache) {
+    this(key, smallBlockSize * getUnitBitSize(unit), batchModeWarnEnabled, xorEngineType, keyScheduleCache);
+  }
+
+  public HypergraphEncryptor(HomogenousHypergraph key, int smallBlockSize, SmallBlockSizeUnit unit,
+                             boolean batchModeWarnEnabled, XorEngineType xorEngineType) {
+    this(key, smallBlockSize * getUnitBitSize(unit), batchModeWarnEnabled, xorEngineType,
+        HypergraphKeyScheduleCache.getDefault());
+  }
 
   public HypergraphEncryptor(HomogenousHypergraph key, int smallBlockSize, SmallBlockSizeUnit unit,
                              boolean batchModeWarnEnabled) {
-    this(key, smallBlockSize * getUnitBitSize(unit), batchModeWarnEnabled);
+    this(key, smallBlockSize * getUnitBitSize(unit), batchModeWarnEnabled, XorEngineType.SCALAR,
+        HypergraphKeyScheduleCache.getDefault());
   }
 
   public HypergraphEncryptor(HomogenousHypergraph key, int smallBlockSize, SmallBlockSizeUnit unit) {
-    this(key, smallBlockSize * getUnitBitSize(unit), true);
+    this(key, smallBlockSize * getUnitBitSize(unit), true, XorEngineType.SCALAR,
+        HypergraphKeyScheduleCache.getDefault());
   }
 
   private HypergraphEncryptor(HomogenousHypergraph key, int smallBlockBitSize,
-                              boolean batchModeWarnEnabled) {
+                              boolean batchModeWarnEnabled, XorEngineType xorEngineType,
+                              HypergraphKeyScheduleCache keyScheduleCache) {
     Validator.requireNonNull(key, "key");
     Validator.requirePositive(smallBlockBitSize, "smallBlockBitSize");
+    Validator.requireNonNull(xorEngineType, "xorEngineType");
+    Validator.requireNonNull(keyScheduleCache, "keyScheduleCache");
 
     if (smallBlockBitSize > Byte.SIZE && smallBlockBitSize % Byte.SIZE != 0) {
       throw new IllegalArgumentException("Blocks of 1/2/4-bit size are only supported with BIT unit mode");
@@ -59,23 +87,64 @@ public class HypergraphEncryptor implements SymmetricEncryptor {
 
     this.batchByteSize = batchBlockCount * blockBitSize / Byte.SIZE;
 
-    this.hypergraphAdjacencyLists = new int[key.getVerticesCount() - key.getEdgeDimension() + 1][];
-    for (int i = 0; i < hypergraphAdjacencyLists.length; ++i) {
-      int vertex = i;
-      hypergraphAdjacencyLists[i] = key.getVerticesAdjacentTo(vertex)
-          .filter(incidentVertex -> incidentVertex > vertex)
-          .toArray();
+    this.hypergraphAdjacencyLists = keyScheduleCache.get(key).getAdjacencyLists();
+
+    // (byteIndex, shift) of every small block of every batch position, so bit mode works
+    // on the packed data directly
+    int verticesCount = key.getVerticesCount();
+    this.smallBlockByteIndices = new int[batchBlockCount * verticesCount];
+    this.smallBlockBitShifts = new int[batchBlockCount * verticesCount];
+    for (int position = 0; position < batchBlockCount; ++position) {
+      for (int vertex = 0; vertex < verticesCount; ++vertex) {
+        int bitIndex = position * blockBitSize + vertex * smallBlockBitSize;
+        smallBlockByteIndices[position * verticesCount + vertex] = bitIndex / Byte.SIZE;
+        smallBlockBitShifts[position * verticesCount + vertex] = Byte.SIZE - 1 - bitIndex % Byte.SIZE;
+      }
+    }
+
+    int lastVertexIndex = hypergraphAdjacencyLists.length - 1;
+    this.encryptionVertexSelector = IntUnaryOperator.identity();
+    this.decryptionVertexSelector = i -> lastVertexIndex - i;
+
+    if (xorEngineType == XorEngineType.VECTOR && XorEngine.isVectorAvailable()) {
+      this.xorEngine = XorEngine.vector();
+    } else {
+      if (xorEngineType == XorEngineType.VECTOR) {
+        log.warn("Module {} is not resolved, HypergraphEncryptor falls back to scalar XOR",
+            XorEngine.VECTOR_MODULE_NAME);
+      }
+      this.xorEngine = XorEngine.SCALAR;
     }
   }
 
   @Override
   public byte[] encrypt(byte[] data) {
-    return transform(data, IntUnaryOperator.identity());
+    return transform(data, encryptionVertexSelector);
   }
 
   @Override
   public byte[] decrypt(byte[] data) {
-    return transform(data, i -> hypergraphAdjacencyLists.length - 1 - i);
+    return transform(data, decryptionVertexSelector);
+  }
+
+  @Override
+  public void encryptBlocks(byte[] src, int srcOffset, byte[] dst, int dstOffset, int blockCount) {
+    transformBlocks(src, srcOffset, dst, dstOffset, blockCount, encryptionVertexSelector);
+  }
+
+  @Override
+  public void decryptBlocks(byte[] src, int srcOffset, byte[] dst, int dstOffset, int blockCount) {
+    transformBlocks(src, srcOffset, dst, dstOffset, blockCount, decryptionVertexSelector);
+  }
+
+  @Override
+  public void encryptBlocks(ByteBuffer src, ByteBuffer dst) {
+    transformBlocks(src, dst, encryptionVertexSelector);
+  }
+
+  @Override
+  public void decryptBlocks(ByteBuffer src, ByteBuffer dst) {
+    transformBlocks(src, dst, decryptionVertexSelector);
   }
 
   @Override
@@ -89,88 +158,394 @@ public class HypergraphEncryptor implements SymmetricEncryptor {
     Validator.requireNonNull(data, "data");
     Validator.requireEquals(data.length, batchByteSize, "data.length");
 
-    data = Arrays.copyOf(data, data.length);
+    byte[] result = new byte[batchByteSize];
+    transformBlocks(data, 0, result, 0, 1, vertexSelector);
+    return result;
+  }
 
-    if (batchBlockCount > 1) {
-      batchTransform(data, vertexSelector);
-    } else if (smallBlockBitSize % Byte.SIZE != 0) {
-      bitBlockTransform(data, vertexSelector);
-    } else {
-      byteBlockTransform(data, vertexSelector);
+  private void transformBlocks(byte[] src, int srcOffset, byte[] dst, int dstOffset, int blockCount,
+                               IntUnaryOperator vertexSelector) {
+    Validator.requireNonNull(src, "src");
+    Validator.requireNonNull(dst, "dst");
+    Validator.requireNonLess(blockCount, 0, "blockCount");
+
+    long byteCount = (long) blockCount * batchByteSize;
+    Validator.requireFromIndexSize(srcOffset, byteCount, src.length, "src range");
+    Validator.requireFromIndexSize(dstOffset, byteCount, dst.length, "dst range");
+
+    if (src != dst || srcOffset != dstOffset) {
+      System.arraycopy(src, srcOffset, dst, dstOffset, (int) byteCount);
     }
 
-    return data;
+    if (smallBlockBitSize == 1) {
+      bitSlicedTransform(dst, dstOffset, (long) blockCount * batchBlockCount, vertexSelector);
+      return;
+    }
+
+    // scratch belongs to the call (e.g. one chunk task of ParallelBlockEncryptor), so the encryptor stays
+    // shareable without pinning buffers to every thread that ever touched it
+    byte[] tmp = smallBlockBitSize % Byte.SIZE == 0 ? new byte[smallBlockBitSize / Byte.SIZE] : null;
+
+    for (int i = 0; i < blockCount; ++i) {
+      int offset = dstOffset + i * batchByteSize;
+      if (smallBlockBitSize % Byte.SIZE != 0) {
+        bitBlockTransform(dst, offset, vertexSelector);
+      } else {
+        byteBlockTransform(dst, offset, vertexSelector, tmp);
+      }
+    }
   }
 
-  private void byteBlockTransform(byte[] data, IntUnaryOperator vertexSelector) {
-    final int smallBlockByteSize = smallBlockBitSize / Byte.SIZE;
-    byte[] tmp = new byte[smallBlockByteSize];
+  // 1-bit small blocks: up to 64 sub-blocks are transposed into long lanes (lane bit j = bit of
+  // sub-block j), so every step of the schedule is a word-wide XOR over all of them at once
+  private void bitSlicedTransform(byte[] data, int offset, long subBlockCount, IntUnaryOperator vertexSelector) {
+    long[] lanes = new long[bitSliceLanesLength()];
+    long[] rows = new long[BIT_SLICE_LANES];
+    long bitOffset = (long) offset * Byte.SIZE;
+
+    for (long first = 0; first < subBlockCount; first += BIT_SLICE_LANES) {
+      int laneCount = (int) Math.min(BIT_SLICE_LANES, subBlockCount - first);
+      long firstBitOffset = bitOffset + first * blockBitSize;
+
+      for (int chunk = 0; chunk < lanes.length; chunk += BIT_SLICE_LANES) {
+        int chunkBitSize = Math.min(BIT_SLICE_LANES, blockBitSize - chunk);
+        Arrays.fill(rows, 0);
+        for (int lane = 0; lane < laneCount; ++lane) {
+          rows[lane] = readBits(data, firstBitOffset + (long) lane * blockBitSize + chunk, chunkBitSize);
+        }
+        transpose(rows);
+        System.arraycopy(rows, 0, lanes, chunk, BIT_SLICE_LANES);
+      }
+
+      bitSlicedSchedule(lanes, vertexSelector);
+
+      for (int chunk = 0; chunk < lanes.length; chunk += BIT_SLICE_LANES) {
+        int chunkBitSize = Math.min(BIT_SLICE_LANES, blockBitSize - chunk);
+        System.arraycopy(lanes, chunk, rows, 0, BIT_SLICE_LANES);
+        transpose(rows);
+        for (int lane = 0; lane < laneCount; ++lane) {
+          writeBits(data, firstBitOffset + (long) lane * blockBitSize + chunk, chunkBitSize, rows[lane]);
+        }
+      }
+    }
+  }
 
+  // same as the byte[] one, the lanes are gathered from and scattered back to the buffer a word at a time
+  private void bitSlicedTransform(ByteBuffer data, int offset, long subBlockCount, IntUnaryOperator vertexSelector) {
+    long[] lanes = new long[bitSliceLanesLength()];
+    long[] rows = new long[BIT_SLICE_LANES];
+    long bitOffset = (long) offset * Byte.SIZE;
+
+    for (long first = 0; first < subBlockCount; first += BIT_SLICE_LANES) {
+      int laneCount = (int) Math.min(BIT_SLICE_LANES, subBlockCount - first);
+      long firstBitOffset = bitOffset + first * blockBitSize;
+
+      for (int chunk = 0; chunk < lanes.length; chunk += BIT_SLICE_LANES) {
+        int chunkBitSize = Math.min(BIT_SLICE_LANES, blockBitSize - chunk);
+        Arrays.fill(rows, 0);
+        for (int lane = 0; lane < laneCount; ++lane) {
+          rows[lane] = readBits(data, firstBitOffset + (long) lane * blockBitSize + chunk, chunkBitSize);
+        }
+        transpose(rows);
+        System.arraycopy(rows, 0, lanes, chunk, BIT_SLICE_LANES);
+      }
+
+      bitSlicedSchedule(lanes, vertexSelector);
+
+      for (int chunk = 0; chunk < lanes.length; chunk += BIT_SLICE_LANES) {
+        int chunkBitSize = Math.min(BIT_SLICE_LANES, blockBitSize - chunk);
+        System.arraycopy(lanes, chunk, rows, 0, BIT_SLICE_LANES);
+        transpose(rows);
+        for (int lane = 0; lane < laneCount; ++lane) {
+          writeBits(data, firstBitOffset + (long) lane * blockBitSize + chunk, chunkBitSize, rows[lane]);
+        }
+      }
+    }
+  }
+
+  // whole 64-bit chunks of the block, so every chunk can be transposed as a square matrix
+  private int bitSliceLanesLength() {
+    return (blockBitSize + BIT_SLICE_LANES - 1) / BIT_SLICE_LANES * BIT_SLICE_LANES;
+  }
+
+  private void bitSlicedSchedule(long[] lanes, IntUnaryOperator vertexSelector) {
     for (int i = 0; i < hypergraphAdjacencyLists.length; ++i) {
-      Arrays.fill(tmp, (byte) 0);
       int vertex = vertexSelector.applyAsInt(i);
+      long tmp = 0;
 
       for (int adjacentVertex : hypergraphAdjacencyLists[vertex]) {
-        Bits.xorInPlace(tmp, 0, data, smallBlockByteSize * adjacentVertex, smallBlockByteSize);
+        tmp ^= lanes[adjacentVertex];
       }
       if ((hypergraphAdjacencyLists[vertex].length & 1) == 1) {
-        Bits.xorInPlace(tmp, 0, data, smallBlockByteSize * vertex, smallBlockByteSize);
+        tmp ^= lanes[vertex];
       }
 
-      Bits.xorInPlace(data, smallBlockByteSize * vertex, tmp, 0, smallBlockByteSize);
+      lanes[vertex] ^= tmp;
       for (int adjacentVertex : hypergraphAdjacencyLists[vertex]) {
-        Bits.xorInPlace(data, smallBlockByteSize * adjacentVertex, tmp, 0, smallBlockByteSize);
+        lanes[adjacentVertex] ^= tmp;
+      }
+    }
+  }
+
+  private void transformBlocks(ByteBuffer src, ByteBuffer dst, IntUnaryOperator vertexSelector) {
+    Validator.requireNonNull(src, "src");
+    Validator.requireNonNull(dst, "dst");
+
+    int byteCount = src.remaining();
+    if (byteCount % batchByteSize != 0) {
+      throw new IllegalArgumentException("src.remaining() must be a multiple of " + batchByteSize);
+    }
+    Validator.requireNonLess(dst.remaining(), byteCount, "dst.remaining()");
+
+    int blockCount = byteCount / batchByteSize;
+    int srcPosition = src.position();
+    int dstPosition = dst.position();
+
+    // like the byte[] path, src is copied over dst (buffer to buffer) and dst is transformed where it lies
+    if (src != dst) {
+      dst.put(dstPosition, src, srcPosition, byteCount);
+    }
+
+    if (dst.hasArray()) {
+      int offset = dst.arrayOffset() + dstPosition;
+      transformBlocks(dst.array(), offset, dst.array(), offset, blockCount, vertexSelector);
+    } else {
+      transformBlocks(dst.duplicate().order(ByteOrder.BIG_ENDIAN), dstPosition, blockCount, vertexSelector);
+    }
+
+    src.position(srcPosition + byteCount);
+    if (src != dst) {
+      dst.position(dstPosition + byteCount);
+    }
+  }
+
+  // data is a big-endian view, offset is absolute
+  private void transformBlocks(ByteBuffer data, int offset, int blockCount, IntUnaryOperator vertexSelector) {
+    if (smallBlockBitSize == 1) {
+      bitSlicedTransform(data, offset, (long) blockCount * batchBlockCount, vertexSelector);
+      return;
+    }
+
+    for (int i = 0; i < blockCount; ++i) {
+      int blockOffset = offset + i * batchByteSize;
+      if (smallBlockBitSize % Byte.SIZE != 0) {
+        bitBlockTransform(data, blockOffset, vertexSelector);
+      } else {
+        byteBlockTransform(data, blockOffset, vertexSelector);
       }
     }
   }
 
-  private void bitBlockTransform(byte[] data, IntUnaryOperator vertexSelector) {
-    byte[] tmp = new byte[1]; // using only first bit
+  private void byteBlockTransform(byte[] data, int offset, IntUnaryOperator vertexSelector, byte[] tmp) {
+    final int smallBlockByteSize = smallBlockBitSize / Byte.SIZE;
 
     for (int i = 0; i < hypergraphAdjacencyLists.length; ++i) {
-      Arrays.fill(tmp, (byte) 0);
       int vertex = vertexSelector.applyAsInt(i);
+      xorEngine.applyStep(data, offset, smallBlockByteSize, vertex, hypergraphAdjacencyLists[vertex], tmp);
+    }
+  }
 
-      for (int adjacentVertex : hypergraphAdjacencyLists[vertex]) {
-        int resultByteIndex = smallBlockBitSize * adjacentVertex / Byte.SIZE;
-        int tmpShift = smallBlockBitSize * adjacentVertex % Byte.SIZE;
+  private void bitBlockTransform(byte[] data, int offset, IntUnaryOperator vertexSelector) {
+    int verticesCount = blockBitSize / smallBlockBitSize;
+
+    for (int position = 0; position < batchBlockCount; ++position) {
+      int base = position * verticesCount;
+
+      for (int i = 0; i < hypergraphAdjacencyLists.length; ++i) {
+        int vertex = vertexSelector.applyAsInt(i);
+        int tmp = 0;
+
+        for (int adjacentVertex : hypergraphAdjacencyLists[vertex]) {
+          int idx = base + adjacentVertex;
+          tmp ^= data[offset + smallBlockByteIndices[idx]] >>> smallBlockBitShifts[idx];
+        }
+        if ((hypergraphAdjacencyLists[vertex].length & 1) == 1) {
+          tmp ^= data[offset + smallBlockByteIndices[base + vertex]] >>> smallBlockBitShifts[base + vertex];
+        }
+        if ((tmp & 1) == 0) {
+          continue;
+        }
+
+        data[offset + smallBlockByteIndices[base + vertex]] ^= (byte) (1 << smallBlockBitShifts[base + vertex]);
+        for (int adjacentVertex : hypergraphAdjacencyLists[vertex]) {
+          int idx = base + adjacentVertex;
+          data[offset + smallBlockByteIndices[idx]] ^= (byte) (1 << smallBlockBitShifts[idx]);
+        }
+      }
+    }
+  }
 
-        tmp[0] = (byte) (Byte.toUnsignedInt(tmp[0]) >>> tmpShift);
-        Bits.xorInPlace(tmp, 0, data, resultByteIndex, 1);
-        tmp[0] <<= tmpShift;
+  // XOR is bytewise, so each step runs a long word of the small blocks at a time, no tmp block is needed
+  private void byteBlockTransform(ByteBuffer data, int offset, IntUnaryOperator vertexSelector) {
+    final int smallBlockByteSize = smallBlockBitSize / Byte.SIZE;
+    final int wordsEnd = smallBlockByteSize - smallBlockByteSize % Long.BYTES;
+
+    for (int i = 0; i < hypergraphAdjacencyLists.length; ++i) {
+      int vertex = vertexSelector.applyAsInt(i);
+      int[] adjacentVertices = hypergraphAdjacencyLists[vertex];
+      boolean includeVertex = (adjacentVertices.length & 1) == 1;
+
+      for (int j = 0; j < wordsEnd; j += Long.BYTES) {
+        int vertexIndex = offset + smallBlockByteSize * vertex + j;
+        long tmp = includeVertex ? data.getLong(vertexIndex) : 0;
+        for (int adjacentVertex : adjacentVertices) {
+          tmp ^= data.getLong(offset + smallBlockByteSize * adjacentVertex + j);
+        }
+
+        data.putLong(vertexIndex, data.getLong(vertexIndex) ^ tmp);
+        for (int adjacentVertex : adjacentVertices) {
+          int index = offset + smallBlockByteSize * adjacentVertex + j;
+          data.putLong(index, data.getLong(index) ^ tmp);
+        }
       }
 
-      int resultCurVertexByteIndex = smallBlockBitSize * vertex / Byte.SIZE;
-      int tmpCurVertexShift = smallBlockBitSize * vertex % Byte.SIZE;
-      byte tmpCurVertexMask = (byte) (Byte.toUnsignedInt(BIT_MODE_MASK) >>> tmpCurVertexShift);
+      for (int j = wordsEnd; j < smallBlockByteSize; ++j) {
+        int vertexIndex = offset + smallBlockByteSize * vertex + j;
+        int tmp = includeVertex ? data.get(vertexIndex) : 0;
+        for (int adjacentVertex : adjacentVertices) {
+          tmp ^= data.get(offset + smallBlockByteSize * adjacentVertex + j);
+        }
+
+        data.put(vertexIndex, (byte) (data.get(vertexIndex) ^ tmp));
+        for (int adjacentVertex : adjacentVertices) {
+          int index = offset + smallBlockByteSize * adjacentVertex + j;
+          data.put(index, (byte) (data.get(index) ^ tmp));
+        }
+      }
+    }
+  }
 
-      tmp[0] = (byte) (Byte.toUnsignedInt(tmp[0]) >>> tmpCurVertexShift);
-      if ((hypergraphAdjacencyLists[vertex].length & 1) == 1) {
-        Bits.xorInPlace(tmp, 0, data, resultCurVertexByteIndex, 1);
+  private void bitBlockTransform(ByteBuffer data, int offset, IntUnaryOperator vertexSelector) {
+    int verticesCount = blockBitSize / smallBlockBitSize;
+
+    for (int position = 0; position < batchBlockCount; ++position) {
+      int base = position * verticesCount;
+
+      for (int i = 0; i < hypergraphAdjacencyLists.length; ++i) {
+        int vertex = vertexSelector.applyAsInt(i);
+        int tmp = 0;
+
+        for (int adjacentVertex : hypergraphAdjacencyLists[vertex]) {
+          int idx = base + adjacentVertex;
+          tmp ^= data.get(offset + smallBlockByteIndices[idx]) >>> smallBlockBitShifts[idx];
+        }
+        if ((hypergraphAdjacencyLists[vertex].length & 1) == 1) {
+          tmp ^= data.get(offset + smallBlockByteIndices[base + vertex]) >>> smallBlockBitShifts[base + vertex];
+        }
+        if ((tmp & 1) == 0) {
+          continue;
+        }
+
+        flipBit(data, offset + smallBlockByteIndices[base + vertex], smallBlockBitShifts[base + vertex]);
+        for (int adjacentVertex : hypergraphAdjacencyLists[vertex]) {
+          int idx = base + adjacentVertex;
+          flipBit(data, offset + smallBlockByteIndices[idx], smallBlockBitShifts[idx]);
+        }
       }
-      tmp[0] &= tmpCurVertexMask;
-      Bits.xorInPlace(data, resultCurVertexByteIndex, tmp, 0, 1);
-      tmp[0] <<= tmpCurVertexShift;
+    }
+  }
 
-      for (int adjacentVertex : hypergraphAdjacencyLists[vertex]) {
-        int resultByteIndex = smallBlockBitSize * adjacentVertex / Byte.SIZE;
-        int tmpShift = smallBlockBitSize * adjacentVertex % Byte.SIZE;
+  private static void flipBit(ByteBuffer data, int byteIndex, int shift) {
+    data.put(byteIndex, (byte) (data.get(byteIndex) ^ (1 << shift)));
+  }
+
+  // reads bitCount (<= 64) bits starting at bitIndex into the most significant bits of the result
+  private static long readBits(byte[] data, long bitIndex, int bitCount) {
+    int byteIndex = (int) (bitIndex / Byte.SIZE);
+    int shift = (int) (bitIndex % Byte.SIZE);
+    int byteCount = (shift + bitCount + Byte.SIZE - 1) / Byte.SIZE;
+
+    long value = 0;
+    for (int i = 0; i < Math.min(byteCount, Long.BYTES); ++i) {
+      value |= Byte.toUnsignedLong(data[byteIndex + i]) << (Long.SIZE - Byte.SIZE * (i + 1));
+    }
+    value <<= shift;
+    if (byteCount > Long.BYTES) {
+      value |= Byte.toUnsignedLong(data[byteIndex + Long.BYTES]) >>> (Byte.SIZE - shift);
+    }
+    return value & (-1L << (Long.SIZE - bitCount));
+  }
+
+  // writes bitCount (<= 64) most significant bits of value starting at bitIndex
+  private static void writeBits(byte[] data, long bitIndex, int bitCount, long value) {
+    int byteIndex = (int) (bitIndex / Byte.SIZE);
+    int shift = (int) (bitIndex % Byte.SIZE);
+    int lastBit = shift + bitCount;
+
+    for (int i = 0; i * Byte.SIZE < lastBit; ++i) {
+      int valueIndex = i * Byte.SIZE - shift;
+      int bits = (int) (valueIndex >= 0
+          ? (value << valueIndex) >>> (Long.SIZE - Byte.SIZE)
+          : value >>> (Long.SIZE - Byte.SIZE - valueIndex));
+      int from = Math.max(shift - i * Byte.SIZE, 0);
+      int to = Math.min(lastBit - i * Byte.SIZE, Byte.SIZE);
+      int mask = (0xFF >>> from) & (0xFF << (Byte.SIZE - to));
+      data[byteIndex + i] = (byte) ((data[byteIndex + i] & ~mask) | (bits & mask));
+    }
+  }
 
-        tmp[0] = (byte) (Byte.toUnsignedInt(tmp[0]) >>> tmpShift);
-        Bits.xorInPlace(data, resultByteIndex, tmp, 0, 1);
-        tmp[0] <<= tmpShift;
+  // readBits over a big-endian buffer: one getLong whenever the bits span at least a whole word,
+  // bytes outside the bits are never touched, as neighbouring bytes may belong to another thread's chunk
+  private static long readBits(ByteBuffer data, long bitIndex, int bitCount) {
+    int byteIndex = (int) (bitIndex / Byte.SIZE);
+    int shift = (int) (bitIndex % Byte.SIZE);
+    int byteCount = (shift + bitCount + Byte.SIZE - 1) / Byte.SIZE;
+
+    long value = 0;
+    if (byteCount >= Long.BYTES) {
+      value = data.getLong(byteIndex);
+    } else {
+      for (int i = 0; i < byteCount; ++i) {
+        value |= Byte.toUnsignedLong(data.get(byteIndex + i)) << (Long.SIZE - Byte.SIZE * (i + 1));
       }
     }
+    value <<= shift;
+    if (byteCount > Long.BYTES) {
+      value |= Byte.toUnsignedLong(data.get(byteIndex + Long.BYTES)) >>> (Byte.SIZE - shift);
+    }
+    return value & (-1L << (Long.SIZE - bitCount));
   }
 
+  // writeBits over a big-endian buffer, read-modify-write of one word plus a spilled byte when the bits
+  // span at least a whole word, byte by byte otherwise
+  private static void writeBits(ByteBuffer data, long bitIndex, int bitCount, long value) {
+    int byteIndex = (int) (bitIndex / Byte.SIZE);
+    int shift = (int) (bitIndex % Byte.SIZE);
+    int lastBit = shift + bitCount;
+
+    if (lastBit < Long.SIZE) {
+      for (int i = 0; i * Byte.SIZE < lastBit; ++i) {
+        int valueIndex = i * Byte.SIZE - shift;
+        int bits = (int) (valueIndex >= 0
+            ? (value << valueIndex) >>> (Long.SIZE - Byte.SIZE)
+            : value >>> (Long.SIZE - Byte.SIZE - valueIndex));
+        int from = Math.max(shift - i * Byte.SIZE, 0);
+        int to = Math.min(lastBit - i * Byte.SIZE, Byte.SIZE);
+        int mask = (0xFF >>> from) & (0xFF << (Byte.SIZE - to));
+        data.put(byteIndex + i, (byte) ((data.get(byteIndex + i) & ~mask) | (bits & mask)));
+      }
+      return;
+    }
+
+    long mask = -1L >>> shift;
+    data.putLong(byteIndex, (data.getLong(byteIndex) & ~mask) | ((value >>> shift) & mask));
+    if (lastBit > Long.SIZE) {
+      int spillIndex = byteIndex + Long.BYTES;
+      int bits = (int) ((value << (Long.SIZE - shift)) >>> (Long.SIZE - Byte.SIZE));
+      int spillMask = (0xFF << (Byte.SIZE - (lastBit - Long.SIZE))) & 0xFF;
+      data.put(spillIndex, (byte) ((data.get(spillIndex) & ~spillMask) | (bits & spillMask)));
+    }
+  }
 
-  private void batchTransform(byte[] data, IntUnaryOperator vertexSelector) {
-    byte[] block = new byte[(blockBitSize + Byte.SIZE - 1) / Byte.SIZE];
-    for (int i = 0; i < batchBlockCount; ++i) {
-      Arrays.fill(block, (byte) 0);
-      Bits.extractBitsInto(data, (long) i * blockBitSize, block, 0, blockBitSize);
-      bitBlockTransform(block, vertexSelector);
-      Bits.extractBitsInto(block, 0, data, (long) i * blockBitSize, blockBitSize);
+  // 64x64 bit matrix transpose (Hacker's Delight, 7-3)
+  private static void transpose(long[] rows) {
+    long mask = 0x0000_0000_FFFF_FFFFL;
+    for (int j = Long.SIZE / 2; j != 0; j >>>= 1, mask ^= mask << j) {
+      for (int k = 0; k < Long.SIZE; k = ((k | j) + 1) & ~j) {
+        long t = (rows[k] ^ (rows[k | j] >>> j)) & mask;
+        rows[k] ^= t;
+        rows[k | j] ^= t << j;
+      }
     }
   }
 
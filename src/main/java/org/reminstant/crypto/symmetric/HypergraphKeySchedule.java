@@ -0,0 +1,64 @@
+package org.reminstant.crypto.symmetric;
+
+import org.reminstant.Validator;
+import org.reminstant.math.graphtheory.hyper.HomogenousHypergraph;
+
+import java.util.BitSet;
+
+// Per-step adjacency lists of a key: for every step vertex the adjacent vertices with greater index.
+// Built in one pass of an edge cursor, so each edge index is decoded only once and no edge is allocated
+final class HypergraphKeySchedule {
+
+  private final int verticesCount;
+  private final int[][] adjacencyLists;
+  private final long weight;
+
+  private HypergraphKeySchedule(int verticesCount, int[][] adjacencyLists) {
+    this.verticesCount = verticesCount;
+    this.adjacencyLists = adjacencyLists;
+
+    long adjacencyWeight = 0;
+    for (int[] adjacencyList : adjacencyLists) {
+      adjacencyWeight += adjacencyList.length;
+    }
+    this.weight = adjacencyLists.length + adjacencyWeight;
+  }
+
+  static HypergraphKeySchedule of(HomogenousHypergraph key) {
+    Validator.requireNonNull(key, "key");
+
+    int stepCount = key.getVerticesCount() - key.getEdgeDimension() + 1;
+    BitSet[] adjacentVertices = new BitSet[stepCount];
+    for (int i = 0; i < stepCount; ++i) {
+      adjacentVertices[i] = new BitSet(key.getVerticesCount());
+    }
+
+    // edge vertices come in ascending order, so the greater adjacent vertices of vertices[i] follow it
+    key.forEachEdge((edgeIndex, vertices) -> {
+      for (int i = 0; i < vertices.length && vertices[i] < stepCount; ++i) {
+        for (int j = i + 1; j < vertices.length; ++j) {
+          adjacentVertices[vertices[i]].set(vertices[j]);
+        }
+      }
+    });
+
+    int[][] adjacencyLists = new int[stepCount][];
+    for (int i = 0; i < stepCount; ++i) {
+      adjacencyLists[i] = adjacentVertices[i].stream().toArray();
+    }
+    return new HypergraphKeySchedule(key.getVerticesCount(), adjacencyLists);
+  }
+
+  int getVerticesCount() {
+    return verticesCount;
+  }
+
+  // shared between encryptors, must not be modified
+  int[][] getAdjacencyLists() {
+    return adjacencyLists;
+  }
+
+  long getWeight() {
+    return weight;
+  }
+}
@@ -0,0 +1,114 @@
+package org.reminstant.crypto.symmetric;
+
+import org.reminstant.Validator;
+import org.reminstant.math.graphtheory.hyper.HomogenousHypergraph;
+
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Bounded LRU cache of key schedules shared by HypergraphEncryptor instances.
+// Weight of an entry is its number of adjacency list elements plus the number of steps, plus the byte size
+// of its key. Entries are keyed on the codec encoding, cached by the hypergraph until it is mutated:
+// a lookup hashes and compares flat bytes instead of edge sets, and mutating a hypergraph after use
+// does not corrupt the cache
+public class HypergraphKeyScheduleCache {
+
+  public static final long DEFAULT_MAX_WEIGHT = 1L << 20;
+
+  private static final HypergraphKeyScheduleCache DEFAULT = new HypergraphKeyScheduleCache(DEFAULT_MAX_WEIGHT);
+
+  public record Stats(long hitCount, long missCount, long evictionCount, int size, long weight) {
+
+    public double hitRate() {
+      long requestCount = hitCount + missCount;
+      return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+    }
+  }
+
+  private final long maxWeight;
+  private final LinkedHashMap<ByteBuffer, Entry> schedules;
+  private long weight;
+  private long hitCount;
+  private long missCount;
+  private long evictionCount;
+
+  public HypergraphKeyScheduleCache(long maxWeight) {
+    Validator.requireNonLess(maxWeight, 0L, "maxWeight");
+
+    this.maxWeight = maxWeight;
+    this.schedules = new LinkedHashMap<>(16, 0.75f, true);
+    this.weight = 0;
+    this.hitCount = 0;
+    this.missCount = 0;
+    this.evictionCount = 0;
+  }
+
+  public static HypergraphKeyScheduleCache getDefault() {
+    return DEFAULT;
+  }
+
+  public synchronized Stats getStats() {
+    return new Stats(hitCount, missCount, evictionCount, schedules.size(), weight);
+  }
+
+  public long getMaxWeight() {
+    return maxWeight;
+  }
+
+  // drops the schedules and resets the stats
+  public synchronized void clear() {
+    schedules.clear();
+    weight = 0;
+    hitCount = 0;
+    missCount = 0;
+    evictionCount = 0;
+  }
+
+
+
+  // the schedule is built outside the lock, concurrent misses on one key may build it twice
+  HypergraphKeySchedule get(HomogenousHypergraph key) {
+    Validator.requireNonNull(key, "key");
+
+    // equals and hashCode of a ByteBuffer are over its content
+    ByteBuffer encoding = key.getEncoding();
+    synchronized (this) {
+      Entry entry = schedules.get(encoding);
+      if (entry != null) {
+        hitCount++;
+        return entry.schedule();
+      }
+      missCount++;
+    }
+
+    HypergraphKeySchedule schedule = HypergraphKeySchedule.of(key);
+    Entry entry = new Entry(schedule, schedule.getWeight() + encoding.capacity());
+    if (entry.weight() > maxWeight) {
+      return schedule;
+    }
+
+    synchronized (this) {
+      Entry present = schedules.putIfAbsent(encoding, entry);
+      if (present != null) {
+        return present.schedule();
+      }
+      weight += entry.weight();
+      evictOverweight();
+    }
+    return schedule;
+  }
+
+  private void evictOverweight() {
+    Iterator<Map.Entry<ByteBuffer, Entry>> iterator = schedules.entrySet().iterator();
+    while (weight > maxWeight && iterator.hasNext()) {
+      weight -= iterator.next().getValue().weight();
+      iterator.remove();
+      evictionCount++;
+    }
+  }
+
+  private record Entry(HypergraphKeySchedule schedule, long weight) {
+  }
+}
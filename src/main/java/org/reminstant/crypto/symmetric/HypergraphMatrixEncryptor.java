@@ -0,0 +1,234 @@
+package org.reminstant.crypto.symmetric;
+
+import org.reminstant.Validator;
+import org.reminstant.crypto.symmetric.HypergraphEncryptor.SmallBlockSizeUnit;
+import org.reminstant.math.graphtheory.hyper.HomogenousHypergraph;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+// Hypergraph transform is linear over GF(2), so it is folded into a block-level matrix
+// (and its inverse) once and applied with Method of Four Russians: one table per input byte,
+// 256 precomputed column combinations per table
+public class HypergraphMatrixEncryptor implements MultiBlockEncryptor {
+
+  public static final int MAX_BLOCK_BYTE_SIZE = 128;
+
+  private static final int TABLE_SIZE = 1 << Byte.SIZE;
+  private static final int BYTES_PER_WORD = Long.BYTES;
+
+  private final int blockByteSize;
+  private final int wordCount;
+  private final long[] encryptionTable;
+  private final long[] decryptionTable;
+
+  public HypergraphMatrixEncryptor(HomogenousHypergraph key, int smallBlockSize, SmallBlockSizeUnit unit) {
+    this(new HypergraphEncryptor(key, smallBlockSize, unit, false));
+  }
+
+  HypergraphMatrixEncryptor(HypergraphEncryptor encryptor) {
+    Validator.requireNonNull(encryptor, "encryptor");
+
+    this.blockByteSize = encryptor.getBlockByteSize();
+    if (blockByteSize > MAX_BLOCK_BYTE_SIZE) {
+      throw new IllegalArgumentException("Block size must not exceed %d bytes for matrix mode"
+          .formatted(MAX_BLOCK_BYTE_SIZE));
+    }
+
+    this.wordCount = (blockByteSize + BYTES_PER_WORD - 1) / BYTES_PER_WORD;
+    this.encryptionTable = buildTable(encryptor, true);
+    this.decryptionTable = buildTable(encryptor, false);
+  }
+
+  @Override
+  public byte[] encrypt(byte[] data) {
+    return transform(data, encryptionTable);
+  }
+
+  @Override
+  public byte[] decrypt(byte[] data) {
+    return transform(data, decryptionTable);
+  }
+
+  @Override
+  public void encryptBlocks(byte[] src, int srcOffset, byte[] dst, int dstOffset, int blockCount) {
+    transformBlocks(src, srcOffset, dst, dstOffset, blockCount, encryptionTable);
+  }
+
+  @Override
+  public void decryptBlocks(byte[] src, int srcOffset, byte[] dst, int dstOffset, int blockCount) {
+    transformBlocks(src, srcOffset, dst, dstOffset, blockCount, decryptionTable);
+  }
+
+  @Override
+  public void encryptBlocks(ByteBuffer src, ByteBuffer dst) {
+    transformBlocks(src, dst, encryptionTable);
+  }
+
+  @Override
+  public void decryptBlocks(ByteBuffer src, ByteBuffer dst) {
+    transformBlocks(src, dst, decryptionTable);
+  }
+
+  @Override
+  public int getBlockByteSize() {
+    return blockByteSize;
+  }
+
+
+
+  private byte[] transform(byte[] data, long[] table) {
+    Validator.requireNonNull(data, "data");
+    Validator.requireEquals(data.length, blockByteSize, "data.length");
+
+    byte[] result = new byte[blockByteSize];
+    transformBlocks(data, 0, result, 0, 1, table);
+    return result;
+  }
+
+  private void transformBlocks(byte[] src, int srcOffset, byte[] dst, int dstOffset, int blockCount,
+                               long[] table) {
+    Validator.requireNonNull(src, "src");
+    Validator.requireNonNull(dst, "dst");
+    Validator.requireNonLess(blockCount, 0, "blockCount");
+
+    long byteCount = (long) blockCount * blockByteSize;
+    Validator.requireFromIndexSize(srcOffset, byteCount, src.length, "src range");
+    Validator.requireFromIndexSize(dstOffset, byteCount, dst.length, "dst range");
+
+    // overlapping ranges are shifted first, so each block is read before it is overwritten
+    if (src == dst && srcOffset != dstOffset) {
+      System.arraycopy(src, srcOffset, dst, dstOffset, (int) byteCount);
+      srcOffset = dstOffset;
+    }
+
+    long[] result = new long[wordCount];
+    for (int i = 0; i < blockCount; ++i) {
+      Arrays.fill(result, 0);
+      multiply(src, srcOffset + i * blockByteSize, table, result);
+      unpackWords(result, dst, dstOffset + i * blockByteSize);
+    }
+  }
+
+  private void transformBlocks(ByteBuffer src, ByteBuffer dst, long[] table) {
+    Validator.requireNonNull(src, "src");
+    Validator.requireNonNull(dst, "dst");
+
+    int byteCount = src.remaining();
+    if (byteCount % blockByteSize != 0) {
+      throw new IllegalArgumentException("src.remaining() must be a multiple of " + blockByteSize);
+    }
+    Validator.requireNonLess(dst.remaining(), byteCount, "dst.remaining()");
+
+    int blockCount = byteCount / blockByteSize;
+    int srcPosition = src.position();
+    int dstPosition = dst.position();
+
+    if (src.hasArray() && dst.hasArray()) {
+      transformBlocks(src.array(), src.arrayOffset() + srcPosition,
+          dst.array(), dst.arrayOffset() + dstPosition, blockCount, table);
+    } else {
+      // words are packed big-endian, so big-endian views read and write them with getLong/putLong
+      ByteBuffer srcView = src.duplicate().order(ByteOrder.BIG_ENDIAN);
+      ByteBuffer dstView = dst.duplicate().order(ByteOrder.BIG_ENDIAN);
+      long[] result = new long[wordCount];
+      for (int i = 0; i < blockCount; ++i) {
+        Arrays.fill(result, 0);
+        multiply(srcView, srcPosition + i * blockByteSize, table, result);
+        unpackWords(result, dstView, dstPosition + i * blockByteSize);
+      }
+    }
+
+    src.position(srcPosition + byteCount);
+    if (src != dst) {
+      dst.position(dstPosition + byteCount);
+    }
+  }
+
+  private void multiply(byte[] data, int offset, long[] table, long[] result) {
+    for (int byteIndex = 0; byteIndex < blockByteSize; ++byteIndex) {
+      xorEntry(table, byteIndex, Byte.toUnsignedInt(data[offset + byteIndex]), result);
+    }
+  }
+
+  private void multiply(ByteBuffer data, int offset, long[] table, long[] result) {
+    int wordsEnd = blockByteSize - blockByteSize % BYTES_PER_WORD;
+    for (int byteIndex = 0; byteIndex < wordsEnd; byteIndex += BYTES_PER_WORD) {
+      long word = data.getLong(offset + byteIndex);
+      for (int j = 0; j < BYTES_PER_WORD; ++j) {
+        xorEntry(table, byteIndex + j, (int) (word >>> wordShift(j)) & 0xFF, result);
+      }
+    }
+    for (int byteIndex = wordsEnd; byteIndex < blockByteSize; ++byteIndex) {
+      xorEntry(table, byteIndex, Byte.toUnsignedInt(data.get(offset + byteIndex)), result);
+    }
+  }
+
+  private void xorEntry(long[] table, int byteIndex, int value, long[] result) {
+    if (value == 0) {
+      return;
+    }
+    int entryOffset = (byteIndex * TABLE_SIZE + value) * wordCount;
+    for (int w = 0; w < wordCount; ++w) {
+      result[w] ^= table[entryOffset + w];
+    }
+  }
+
+  private long[] buildTable(HypergraphEncryptor encryptor, boolean forEncryption) {
+    long[] table = new long[blockByteSize * TABLE_SIZE * wordCount];
+    byte[] unitVector = new byte[blockByteSize];
+    long[][] columns = new long[Byte.SIZE][];
+
+    for (int byteIndex = 0; byteIndex < blockByteSize; ++byteIndex) {
+      for (int bit = 0; bit < Byte.SIZE; ++bit) {
+        unitVector[byteIndex] = (byte) (0x80 >>> bit);
+        byte[] column = forEncryption ? encryptor.encrypt(unitVector) : encryptor.decrypt(unitVector);
+        columns[bit] = packWords(column);
+      }
+      unitVector[byteIndex] = 0;
+
+      // entry[x] = entry[x without its lowest bit] ^ column of that bit
+      int tableOffset = byteIndex * TABLE_SIZE * wordCount;
+      for (int value = 1; value < TABLE_SIZE; ++value) {
+        int lowestBit = value & -value;
+        long[] column = columns[Byte.SIZE - 1 - Integer.numberOfTrailingZeros(lowestBit)];
+        int entryOffset = tableOffset + value * wordCount;
+        int baseOffset = tableOffset + (value ^ lowestBit) * wordCount;
+        for (int w = 0; w < wordCount; ++w) {
+          table[entryOffset + w] = table[baseOffset + w] ^ column[w];
+        }
+      }
+    }
+
+    return table;
+  }
+
+  private long[] packWords(byte[] data) {
+    long[] words = new long[wordCount];
+    for (int i = 0; i < data.length; ++i) {
+      words[i / BYTES_PER_WORD] |= Byte.toUnsignedLong(data[i]) << wordShift(i);
+    }
+    return words;
+  }
+
+  private void unpackWords(long[] words, byte[] data, int offset) {
+    for (int i = 0; i < blockByteSize; ++i) {
+      data[offset + i] = (byte) (words[i / BYTES_PER_WORD] >>> wordShift(i));
+    }
+  }
+
+  private void unpackWords(long[] words, ByteBuffer data, int offset) {
+    int wordsEnd = blockByteSize - blockByteSize % BYTES_PER_WORD;
+    for (int byteIndex = 0; byteIndex < wordsEnd; byteIndex += BYTES_PER_WORD) {
+      data.putLong(offset + byteIndex, words[byteIndex / BYTES_PER_WORD]);
+    }
+    for (int byteIndex = wordsEnd; byteIndex < blockByteSize; ++byteIndex) {
+      data.put(offset + byteIndex, (byte) (words[byteIndex / BYTES_PER_WORD] >>> wordShift(byteIndex)));
+    }
+  }
+
+  private static int wordShift(int byteIndex) {
+    return (BYTES_PER_WORD - 1 - byteIndex % BYTES_PER_WORD) * Byte.SIZE;
+  }
+}
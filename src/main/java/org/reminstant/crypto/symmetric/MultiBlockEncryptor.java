@@ -0,0 +1,34 @@
+package org.reminstant.crypto.symmetric;
+
+import org.reminstant.crypto.SymmetricEncryptor;
+
+import java.nio.ByteBuffer;
+
+public interface MultiBlockEncryptor extends SymmetricEncryptor {
+
+  void encryptBlocks(byte[] src, int srcOffset, byte[] dst, int dstOffset, int blockCount);
+
+  void decryptBlocks(byte[] src, int srcOffset, byte[] dst, int dstOffset, int blockCount);
+
+  // transforms all remaining bytes of src (a whole number of blocks) into dst,
+  // positions of both buffers are advanced
+  void encryptBlocks(ByteBuffer src, ByteBuffer dst);
+
+  void decryptBlocks(ByteBuffer src, ByteBuffer dst);
+
+  default void encryptBlocks(byte[] data, int offset, int blockCount) {
+    encryptBlocks(data, offset, data, offset, blockCount);
+  }
+
+  default void decryptBlocks(byte[] data, int offset, int blockCount) {
+    decryptBlocks(data, offset, data, offset, blockCount);
+  }
+
+  default void encryptBlocks(ByteBuffer data) {
+    encryptBlocks(data, data);
+  }
+
+  default void decryptBlocks(ByteBuffer data) {
+    decryptBlocks(data, data);
+  }
+}
@@ -0,0 +1,226 @@
+package org.reminstant.crypto.symmetric;
+
+import org.reminstant.Validator;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+// Splits bulk ECB/CTR work into block-aligned chunks and transforms them on the executor,
+// the wrapped encryptor must be safe for concurrent use (hypergraph encryptors are)
+public class ParallelBlockEncryptor implements MultiBlockEncryptor {
+
+  public static final int DEFAULT_MIN_CHUNK_BYTE_SIZE = 1 << 16;
+
+  private static final int CHUNKS_PER_THREAD = 4;
+  private static final int CTR_BATCH_BLOCK_COUNT = 256;
+
+  private final MultiBlockEncryptor encryptor;
+  private final Executor executor;
+  private final int blockByteSize;
+  private final int minChunkBlockCount;
+  private final int parallelism;
+
+  public ParallelBlockEncryptor(MultiBlockEncryptor encryptor, Executor executor, int minChunkByteSize) {
+    Validator.requireNonNull(encryptor, "encryptor");
+    Validator.requireNonNull(executor, "executor");
+    Validator.requirePositive(minChunkByteSize, "minChunkByteSize");
+
+    this.encryptor = encryptor;
+    this.executor = executor;
+    this.blockByteSize = encryptor.getBlockByteSize();
+    this.minChunkBlockCount = (minChunkByteSize + blockByteSize - 1) / blockByteSize;
+    this.parallelism = executor instanceof ForkJoinPool pool
+        ? pool.getParallelism()
+        : Runtime.getRuntime().availableProcessors();
+  }
+
+  public ParallelBlockEncryptor(MultiBlockEncryptor encryptor, Executor executor) {
+    this(encryptor, executor, DEFAULT_MIN_CHUNK_BYTE_SIZE);
+  }
+
+  public ParallelBlockEncryptor(MultiBlockEncryptor encryptor) {
+    this(encryptor, ForkJoinPool.commonPool(), DEFAULT_MIN_CHUNK_BYTE_SIZE);
+  }
+
+  @Override
+  public byte[] encrypt(byte[] data) {
+    return encryptor.encrypt(data);
+  }
+
+  @Override
+  public byte[] decrypt(byte[] data) {
+    return encryptor.decrypt(data);
+  }
+
+  @Override
+  public void encryptBlocks(byte[] src, int srcOffset, byte[] dst, int dstOffset, int blockCount) {
+    validateRanges(src, srcOffset, dst, dstOffset, blockCount);
+    runChunked(blockCount, (first, count) -> encryptor.encryptBlocks(
+        src, srcOffset + first * blockByteSize, dst, dstOffset + first * blockByteSize, count));
+  }
+
+  @Override
+  public void decryptBlocks(byte[] src, int srcOffset, byte[] dst, int dstOffset, int blockCount) {
+    validateRanges(src, srcOffset, dst, dstOffset, blockCount);
+    runChunked(blockCount, (first, count) -> encryptor.decryptBlocks(
+        src, srcOffset + first * blockByteSize, dst, dstOffset + first * blockByteSize, count));
+  }
+
+  @Override
+  public void encryptBlocks(ByteBuffer src, ByteBuffer dst) {
+    transformBlocks(src, dst, true);
+  }
+
+  @Override
+  public void decryptBlocks(ByteBuffer src, ByteBuffer dst) {
+    transformBlocks(src, dst, false);
+  }
+
+  // CTR keystream block i is the encryption of (iv + i) taken as a big-endian counter,
+  // length may end with a partial block
+  public void encryptCtr(byte[] iv, byte[] src, int srcOffset, byte[] dst, int dstOffset, int length) {
+    transformCtr(iv, src, srcOffset, dst, dstOffset, length);
+  }
+
+  public void decryptCtr(byte[] iv, byte[] src, int srcOffset, byte[] dst, int dstOffset, int length) {
+    transformCtr(iv, src, srcOffset, dst, dstOffset, length);
+  }
+
+  @Override
+  public int getBlockByteSize() {
+    return blockByteSize;
+  }
+
+  public int getMinChunkByteSize() {
+    return minChunkBlockCount * blockByteSize;
+  }
+
+
+
+  private void transformBlocks(ByteBuffer src, ByteBuffer dst, boolean forEncryption) {
+    Validator.requireNonNull(src, "src");
+    Validator.requireNonNull(dst, "dst");
+
+    int byteCount = src.remaining();
+    if (byteCount % blockByteSize != 0) {
+      throw new IllegalArgumentException("src.remaining() must be a multiple of " + blockByteSize);
+    }
+    Validator.requireNonLess(dst.remaining(), byteCount, "dst.remaining()");
+
+    int srcPosition = src.position();
+    int dstPosition = dst.position();
+
+    runChunked(byteCount / blockByteSize, (first, count) -> {
+      ByteBuffer srcChunk = src.slice(srcPosition + first * blockByteSize, count * blockByteSize);
+      ByteBuffer dstChunk = src == dst
+          ? srcChunk
+          : dst.slice(dstPosition + first * blockByteSize, count * blockByteSize);
+      if (forEncryption) {
+        encryptor.encryptBlocks(srcChunk, dstChunk);
+      } else {
+        encryptor.decryptBlocks(srcChunk, dstChunk);
+      }
+    });
+
+    src.position(srcPosition + byteCount);
+    if (src != dst) {
+      dst.position(dstPosition + byteCount);
+    }
+  }
+
+  private void transformCtr(byte[] iv, byte[] src, int srcOffset, byte[] dst, int dstOffset, int length) {
+    Validator.requireNonNull(iv, "iv");
+    Validator.requireEquals(iv.length, blockByteSize, "iv.length");
+    Validator.requireNonNull(src, "src");
+    Validator.requireNonNull(dst, "dst");
+    Validator.requireNonLess(length, 0, "length");
+    Validator.requireFromIndexSize(srcOffset, length, src.length, "src range");
+    Validator.requireFromIndexSize(dstOffset, length, dst.length, "dst range");
+
+    if (src == dst && srcOffset != dstOffset) {
+      System.arraycopy(src, srcOffset, dst, dstOffset, length);
+      srcOffset = dstOffset;
+    }
+
+    int from = srcOffset;
+    byte[] counter = iv.clone();
+    int blockCount = (length + blockByteSize - 1) / blockByteSize;
+
+    runChunked(blockCount, (first, count) -> {
+      byte[] keystream = new byte[Math.min(count, CTR_BATCH_BLOCK_COUNT) * blockByteSize];
+      for (int batchFirst = first; batchFirst < first + count; batchFirst += CTR_BATCH_BLOCK_COUNT) {
+        int batchCount = Math.min(CTR_BATCH_BLOCK_COUNT, first + count - batchFirst);
+        for (int i = 0; i < batchCount; ++i) {
+          writeCounter(counter, batchFirst + i, keystream, i * blockByteSize);
+        }
+        encryptor.encryptBlocks(keystream, 0, batchCount);
+
+        int byteFrom = batchFirst * blockByteSize;
+        int byteCount = Math.min(batchCount * blockByteSize, length - byteFrom);
+        for (int i = 0; i < byteCount; ++i) {
+          dst[dstOffset + byteFrom + i] = (byte) (src[from + byteFrom + i] ^ keystream[i]);
+        }
+      }
+    });
+  }
+
+  private void writeCounter(byte[] iv, long blockIndex, byte[] dst, int dstOffset) {
+    long carry = blockIndex;
+    for (int i = blockByteSize - 1; i >= 0; --i) {
+      long sum = Byte.toUnsignedLong(iv[i]) + (carry & 0xFF);
+      dst[dstOffset + i] = (byte) sum;
+      carry = (carry >>> Byte.SIZE) + (sum >>> Byte.SIZE);
+    }
+  }
+
+  private void runChunked(int blockCount, ChunkTask task) {
+    int chunkBlockCount = Math.max(minChunkBlockCount,
+        (blockCount + parallelism * CHUNKS_PER_THREAD - 1) / (parallelism * CHUNKS_PER_THREAD));
+
+    if (blockCount <= chunkBlockCount) {
+      task.run(0, blockCount);
+      return;
+    }
+
+    List<CompletableFuture<Void>> futures = new ArrayList<>();
+    for (int first = 0; first < blockCount; first += chunkBlockCount) {
+      int chunkFirst = first;
+      int count = Math.min(chunkBlockCount, blockCount - first);
+      futures.add(CompletableFuture.runAsync(() -> task.run(chunkFirst, count), executor));
+    }
+
+    try {
+      CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+
+  private void validateRanges(byte[] src, int srcOffset, byte[] dst, int dstOffset, int blockCount) {
+    Validator.requireNonNull(src, "src");
+    Validator.requireNonNull(dst, "dst");
+    Validator.requireNonLess(blockCount, 0, "blockCount");
+
+    long byteCount = (long) blockCount * blockByteSize;
+    Validator.requireFromIndexSize(srcOffset, byteCount, src.length, "src range");
+    Validator.requireFromIndexSize(dstOffset, byteCount, dst.length, "dst range");
+
+    // chunks of overlapping but shifted ranges would overwrite each other's input
+    if (src == dst && srcOffset != dstOffset && Math.abs(srcOffset - dstOffset) < byteCount) {
+      throw new IllegalArgumentException("src and dst ranges must be either identical or disjoint");
+    }
+  }
+
+  @FunctionalInterface
+  private interface ChunkTask {
+    void run(int firstBlock, int blockCount);
+  }
+}
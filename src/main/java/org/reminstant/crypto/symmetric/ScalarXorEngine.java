@@ -0,0 +1,26 @@
+package org.reminstant.crypto.symmetric;
+
+import org.reminstant.crypto.Bits;
+
+import java.util.Arrays;
+
+final class ScalarXorEngine implements XorEngine {
+
+  @Override
+  public void applyStep(byte[] data, int offset, int smallBlockByteSize, int vertex, int[] adjacentVertices,
+                        byte[] tmp) {
+    Arrays.fill(tmp, (byte) 0);
+
+    for (int adjacentVertex : adjacentVertices) {
+      Bits.xorInPlace(tmp, 0, data, offset + smallBlockByteSize * adjacentVertex, smallBlockByteSize);
+    }
+    if ((adjacentVertices.length & 1) == 1) {
+      Bits.xorInPlace(tmp, 0, data, offset + smallBlockByteSize * vertex, smallBlockByteSize);
+    }
+
+    Bits.xorInPlace(data, offset + smallBlockByteSize * vertex, tmp, 0, smallBlockByteSize);
+    for (int adjacentVertex : adjacentVertices) {
+      Bits.xorInPlace(data, offset + smallBlockByteSize * adjacentVertex, tmp, 0, smallBlockByteSize);
+    }
+  }
+}
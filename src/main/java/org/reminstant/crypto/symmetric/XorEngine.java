@@ -0,0 +1,33 @@
+package org.reminstant.crypto.symmetric;
+
+// One step of the byte-mode schedule: the XOR of the small blocks of the adjacent vertices
+// (and of the vertex itself when their number is odd) is XORed into the vertex and all its neighbours,
+// tmp is caller-owned scratch of smallBlockByteSize bytes, so engines stay stateless and thread-safe
+interface XorEngine {
+
+  String VECTOR_MODULE_NAME = "jdk.incubator.vector";
+  String VECTOR_ENGINE_CLASS_NAME = "org.reminstant.crypto.symmetric.VectorXorEngine";
+
+  XorEngine SCALAR = new ScalarXorEngine();
+
+  void applyStep(byte[] data, int offset, int smallBlockByteSize, int vertex, int[] adjacentVertices,
+                 byte[] tmp);
+
+  static boolean isVectorAvailable() {
+    return ModuleLayer.boot().findModule(VECTOR_MODULE_NAME).isPresent();
+  }
+
+  // VectorXorEngine comes from the separate vector source set and is loaded reflectively once the incubator
+  // module is known to be resolved, so neither compiling main nor the scalar path touches jdk.incubator.vector
+  static XorEngine vector() {
+    if (!isVectorAvailable()) {
+      throw new UnsupportedOperationException(
+          "Module %s is not resolved, run with --add-modules %s".formatted(VECTOR_MODULE_NAME, VECTOR_MODULE_NAME));
+    }
+    try {
+      return (XorEngine) Class.forName(VECTOR_ENGINE_CLASS_NAME).getDeclaredConstructor().newInstance();
+    } catch (ReflectiveOperationException | LinkageError e) {
+      throw new UnsupportedOperationException("%s can not be loaded".formatted(VECTOR_ENGINE_CLASS_NAME), e);
+    }
+  }
+}
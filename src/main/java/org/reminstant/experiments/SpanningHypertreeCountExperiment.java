@@ -1,5 +1,6 @@
 package org.reminstant.experiments;
 
+import org.reminstant.math.combinatorics.BitsetFactory;
 import org.reminstant.math.combinatorics.CombinationFactory;
 import org.reminstant.math.graphtheory.hyper.HHTreeCode;
 import org.reminstant.math.graphtheory.hyper.HHTreeCodeFactory;
@@ -7,7 +8,6 @@ import org.reminstant.math.graphtheory.hyper.HomogenousHypergraph;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.List;
@@ -64,20 +64,24 @@ public class SpanningHypertreeCountExperiment {
     log.info("maxD={}", maxD);
   }
 
+  // the shard walks its own contiguous range of edge subsets
   public static void calc(int n, int k, long[] tMin, long[] tMax,
-                          List<BitSet> treeBitsets, int shift, int step) {
+                          List<BitSet> treeBitsets, int shard, int shardCount) {
     int mMax = CombinationFactory.ofParams(n, k).count().intValueExact();
-    long hhCount = BigInteger.TWO.pow(mMax).longValueExact();
+    BitsetFactory bitsetFactory = BitsetFactory.ofBitsCount(mMax);
+    long hhCount = bitsetFactory.count().longValueExact();
     for (int i = 0; i < tMin.length; ++i) {
       tMin[i] = Long.MAX_VALUE;
     }
 
-    BitSet bs = new BitSet(tMin.length);
-    for (int i = 0; i < shift; ++i) {
-      bitSetNext(bs);
+    long fromOrdinal = shardBound(hhCount, shard, shardCount);
+    long toOrdinal = shardBound(hhCount, shard + 1, shardCount);
+    if (fromOrdinal == toOrdinal) {
+      return;
     }
 
-    for (int i = shift; i < hhCount; i += step) {
+    BitSet bs = bitsetFactory.byOrdinal(fromOrdinal);
+    for (long i = fromOrdinal; i < toOrdinal; ++i) {
       int m = bs.cardinality();
       if (m >= n - 1) {
         long t = treeBitsets.stream().filter(treeBs -> bitSetContains(bs, treeBs)).count();
@@ -86,18 +90,14 @@ public class SpanningHypertreeCountExperiment {
           tMax[m] = Math.max(tMax[m], t);
         }
       }
-      for (int j = 0; j < step; ++j) {
-        bitSetNext(bs);
-      }
+      bitsetFactory.nextInPlace(bs);
     }
   }
 
-  public static void bitSetNext(BitSet bs) {
-    int firstFalse = bs.nextClearBit(0);
-    bs.set(firstFalse);
-    if (firstFalse > 0) {
-      bs.clear(0, firstFalse);
-    }
+  // count * shard / shardCount without overflowing the product: with count = q * shardCount + r
+  // it is q * shard + r * shard / shardCount, and both terms fit into long
+  static long shardBound(long count, int shard, int shardCount) {
+    return count / shardCount * shard + count % shardCount * shard / shardCount;
   }
 
   public static boolean bitSetContains(BitSet a, BitSet b) {
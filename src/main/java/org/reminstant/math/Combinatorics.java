@@ -1,5 +1,6 @@
 package org.reminstant.math;
 
+import org.reminstant.math.combinatorics.CountCache;
 import org.reminstant.utils.ArrayUtils;
 
 import java.math.BigInteger;
@@ -38,39 +39,12 @@ public class Combinatorics {
 
   public static BigInteger combinationCount(int n, int k) {
     validateCombinatoricsParams(n, k);
-    if (k == 1) {
-      return BigInteger.valueOf(n);
-    }
-    if (k == 0 || k == n) {
-      return BigInteger.ONE;
-    }
-    if (k > n) {
-      return BigInteger.ZERO;
-    }
-
-    BigInteger res = BigInteger.ONE;
-    for (int i = Math.max(k, n - k) + 1; i <= n; ++i) {
-      res = res.multiply(BigInteger.valueOf(i));
-    }
-    return res.divide(factorial(Math.min(k, n - k)));
+    return CountCache.binomial(n, k);
   }
 
   public static BigInteger setPartitionCount(int n, int k) {
     validateCombinatoricsParams(n, k);
-    if (k == 1 || k == n) {
-      return BigInteger.ONE;
-    }
-    if (k > n || k == 0 || n % k != 0) {
-      return BigInteger.ZERO;
-    }
-
-    int blockLength = n / k;
-    BigInteger res = BigInteger.ONE;
-
-    for (int i = 0; i + 1 < k; ++i) {
-      res = res.multiply(combinationCount(n - i * blockLength, blockLength));
-    }
-    return res.divide(factorial(k));
+    return CountCache.uniformPartitionCount(n, k);
   }
 
   public static int[] getCombinationByOrdinal(int n, int k, long ordinal) {
@@ -210,6 +184,43 @@ public class Combinatorics {
     return ordinal;
   }
 
+  // Rewrites a valid partition into its successor in ordinal (lexicographic) order, returns false for the last one.
+  // The rightmost non-leading block element that has a greater free element with enough free elements above it
+  // for the rest of its block is increased, everything after it is refilled with the free elements in ascending order.
+  // Takes O(n) with no BigInteger work
+  public static boolean nextSetPartitionInPlace(int n, int k, int[] partition) {
+    validateCombinatoricsParams(n, k);
+    if (n == 0 || k == 0 || partition.length != n) {
+      return false;
+    }
+
+    int blockLength = n / k;
+    long[] free = new long[(n + 63) >>> 6];
+    int freeCount = 0;
+    for (int i = n - 1; i >= 0; --i) {
+      free[partition[i] >>> 6] |= 1L << partition[i];
+      freeCount++;
+      int blockOffset = i % blockLength;
+      if (blockOffset == 0) {
+        continue;
+      }
+
+      int value = nextSetBit(free, partition[i] + 1);
+      int tailLength = blockLength - blockOffset - 1;
+      if (value < 0 || freeCount - countSetBitsUpTo(free, value) < tailLength) {
+        continue;
+      }
+
+      for (int j = i; j < n; ++j) {
+        partition[j] = value;
+        free[value >>> 6] &= ~(1L << value);
+        value = j - i < tailLength ? nextSetBit(free, value + 1) : nextSetBit(free, 0);
+      }
+      return true;
+    }
+    return false;
+  }
+
 
 
   public static class Fast {
@@ -463,16 +474,32 @@ public class Combinatorics {
   }
 
   private static int[] getNextSetPartition(int n, int k, int[] partition) {
-    // TODO: MAAN, CONSTRUCT NORMAL ALGO, NOT THAT STUPIDITY...
-    if (partition.length == 0) {
-      return null;
+    partition = Arrays.copyOf(partition, partition.length);
+    return nextSetPartitionInPlace(n, k, partition) ? partition : null;
+  }
+
+  private static int nextSetBit(long[] words, int fromIndex) {
+    int word = fromIndex >>> 6;
+    if (word >= words.length) {
+      return -1;
     }
-    BigInteger ordinal = getSetPartitionOrdinal(n, k, partition);
-    BigInteger nextOrdinal = ordinal.add(BigInteger.ONE);
-    if (nextOrdinal.compareTo(setPartitionCount(n, k)) >= 0) {
-      return null;
+    long bits = words[word] & (-1L << fromIndex);
+    while (bits == 0) {
+      if (++word == words.length) {
+        return -1;
+      }
+      bits = words[word];
+    }
+    return (word << 6) + Long.numberOfTrailingZeros(bits);
+  }
+
+  // the number of set bits with indices in [0, index]
+  private static int countSetBitsUpTo(long[] words, int index) {
+    int count = 0;
+    for (int word = 0; word < index >>> 6; ++word) {
+      count += Long.bitCount(words[word]);
     }
-    return getSetPartitionByOrdinal(n, k, nextOrdinal);
+    return count + Long.bitCount(words[index >>> 6] & (-1L >>> (63 - (index & 63))));
   }
 
 
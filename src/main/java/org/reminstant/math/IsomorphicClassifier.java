@@ -5,19 +5,24 @@ import java.util.*;
 public class IsomorphicClassifier<T extends IsomorphicallyComparable<T>> {
 
   List<List<T>> isomorphicClasses;
+  // classes bucketed by fingerprint, the full isomorphism check runs only inside a bucket
+  Map<Long, List<List<T>>> fingerprintBuckets;
 
   public IsomorphicClassifier() {
     isomorphicClasses = new ArrayList<>();
+    fingerprintBuckets = new HashMap<>();
   }
 
   public void add(T o) {
-    List<T> dest = isomorphicClasses.stream()
+    List<List<T>> bucket = fingerprintBuckets.computeIfAbsent(o.getIsomorphismFingerprint(), k -> new ArrayList<>());
+    List<T> dest = bucket.stream()
         .filter(clss -> o.isomorphicTo(clss.getFirst()))
         .findAny()
         .orElse(new ArrayList<>());
 
     if (dest.isEmpty()) {
       isomorphicClasses.add(dest);
+      bucket.add(dest);
     }
 
     dest.add(o);
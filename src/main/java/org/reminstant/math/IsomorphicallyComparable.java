@@ -2,4 +2,9 @@ package org.reminstant.math;
 
 public interface IsomorphicallyComparable<T> {
   boolean isomorphicTo(T o);
+
+  // isomorphic objects must have equal fingerprints, the constant default puts everything into one bucket
+  default long getIsomorphismFingerprint() {
+    return 0;
+  }
 }
@@ -1,7 +1,6 @@
 package org.reminstant.math.combinatorics;
 
 import org.reminstant.utils.sequence.Sequence;
-import org.reminstant.utils.Lazy;
 
 import java.math.BigInteger;
 import java.util.Arrays;
@@ -13,12 +12,15 @@ public class ArrangementWithRepetitionFactory implements DiscreteObjectFactory<i
 
   private final int n;
   private final int k;
-  private final Lazy<BigInteger> count;
+  private final BigInteger count;
+  // -1 when the count does not fit in a long
+  private final long longCount;
 
   private ArrangementWithRepetitionFactory(int n, int k) {
     this.n = n;
     this.k = k;
-    this.count = Lazy.ofSupplier(() -> calculateCount(n, k));
+    this.count = calculateCount(n, k);
+    this.longCount = count.bitLength() < Long.SIZE ? count.longValue() : -1;
   }
 
   public static ArrangementWithRepetitionFactory ofParams(int n, int k) {
@@ -27,7 +29,12 @@ public class ArrangementWithRepetitionFactory implements DiscreteObjectFactory<i
   }
 
   public BigInteger count() {
-    return count.get();
+    return count;
+  }
+
+  @Override
+  public boolean hasLongOrdinals() {
+    return longCount >= 0;
   }
 
   public boolean isValid(int[] arrangement) {
@@ -43,7 +50,7 @@ public class ArrangementWithRepetitionFactory implements DiscreteObjectFactory<i
   }
 
   public int[] byOrdinal(BigInteger ordinal) {
-    if (ordinal.compareTo(BigInteger.ZERO) < 0 || ordinal.compareTo(count.get()) >= 0) {
+    if (ordinal.compareTo(BigInteger.ZERO) < 0 || ordinal.compareTo(count) >= 0) {
       throw new NoSuchElementException("Such arrangement does not exist");
     }
 
@@ -70,6 +77,39 @@ public class ArrangementWithRepetitionFactory implements DiscreteObjectFactory<i
     return ordinal;
   }
 
+  @Override
+  public int[] byOrdinal(long ordinal) {
+    if (longCount < 0) {
+      return byOrdinal(BigInteger.valueOf(ordinal));
+    }
+    if (ordinal < 0 || ordinal >= longCount) {
+      throw new NoSuchElementException("Such arrangement does not exist");
+    }
+
+    int[] arrangement = new int[k];
+    for (int i = k - 1; i >= 0; --i) {
+      arrangement[i] = (int) (ordinal % n);
+      ordinal /= n;
+    }
+
+    return arrangement;
+  }
+
+  @Override
+  public long toOrdinalLong(int[] arrangement) {
+    throwIfInvalid(arrangement);
+    if (longCount < 0) {
+      return toOrdinal(arrangement).longValueExact();
+    }
+
+    long ordinal = 0;
+    for (int i = 0; i < k; ++i) {
+      ordinal = ordinal * n + arrangement[i];
+    }
+
+    return ordinal;
+  }
+
   public int[] getNext(int[] arrangement) {
     throwIfInvalid(arrangement);
     return getNextInner(arrangement);
@@ -4,12 +4,20 @@ import org.reminstant.utils.Lazy;
 import org.reminstant.utils.sequence.Sequence;
 
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.BitSet;
+import java.util.NoSuchElementException;
 
 import static org.reminstant.math.combinatorics.CombinatoricsUtil.validateCombinatoricsParam;
 
+// Bit 0 is the most significant one, like the first element of the other factories' arrays, so the
+// ordinal of a BitSet is its n bits read backwards. Conversions go word by word through Long.reverse
 public class BitsetFactory implements DiscreteObjectFactory<BitSet> {
 
+  // 2^62 is the last count to fit in a long
+  public static final int MAX_LONG_ORDINALS_N = Long.SIZE - 2;
+
   private final int n;
   private final Lazy<BigInteger> count;
 
@@ -28,15 +36,80 @@ public class BitsetFactory implements DiscreteObjectFactory<BitSet> {
   }
 
   public boolean isValid(BitSet bitSet) {
-    return bitSet.length() == n;
+    return n > 0 && bitSet.length() <= n;
+  }
+
+  @Override
+  public boolean hasLongOrdinals() {
+    return n <= MAX_LONG_ORDINALS_N;
   }
 
   public BitSet byOrdinal(BigInteger ordinal) {
-    throw new UnsupportedOperationException("not implemented yet");
+    if (ordinal.signum() < 0 || ordinal.compareTo(count.get()) >= 0) {
+      throw new NoSuchElementException("Such bitset does not exist");
+    }
+
+    // big-endian magnitude bytes, right-aligned in the buffer, become little-endian words
+    int wordCount = (n + Long.SIZE - 1) / Long.SIZE;
+    byte[] magnitude = ordinal.toByteArray();
+    int byteCount = Math.min(magnitude.length, wordCount * Long.BYTES);
+    ByteBuffer buffer = ByteBuffer.allocate(wordCount * Long.BYTES);
+    buffer.put(wordCount * Long.BYTES - byteCount, magnitude, magnitude.length - byteCount, byteCount);
+    long[] words = new long[wordCount];
+    for (int i = 0; i < wordCount; ++i) {
+      words[wordCount - 1 - i] = buffer.getLong(i * Long.BYTES);
+    }
+
+    return BitSet.valueOf(reverseBits(words, n));
+  }
+
+  @Override
+  public BitSet byOrdinal(long ordinal) {
+    if (n > MAX_LONG_ORDINALS_N) {
+      return byOrdinal(BigInteger.valueOf(ordinal));
+    }
+    if (ordinal < 0 || ordinal >= 1L << n || n == 0) {
+      throw new NoSuchElementException("Such bitset does not exist");
+    }
+
+    return BitSet.valueOf(new long[] {Long.reverse(ordinal) >>> -n});
   }
 
   public BigInteger toOrdinal(BitSet bitSet) {
-    throw new UnsupportedOperationException("not implemented yet");
+    throwIfInvalid(bitSet);
+
+    int wordCount = (n + Long.SIZE - 1) / Long.SIZE;
+    long[] words = reverseBits(Arrays.copyOf(bitSet.toLongArray(), wordCount), n);
+    ByteBuffer buffer = ByteBuffer.allocate(wordCount * Long.BYTES);
+    for (int i = 0; i < wordCount; ++i) {
+      buffer.putLong(words[wordCount - 1 - i]);
+    }
+
+    return new BigInteger(1, buffer.array());
+  }
+
+  @Override
+  public long toOrdinalLong(BitSet bitSet) {
+    throwIfInvalid(bitSet);
+    if (n > MAX_LONG_ORDINALS_N) {
+      return toOrdinal(bitSet).longValueExact();
+    }
+
+    long[] words = bitSet.toLongArray();
+    return words.length == 0 ? 0 : Long.reverse(words[0]) >>> -n;
+  }
+
+  // Advances the bitset to the next one, clearing the trailing run of set bits with whole-word
+  // operations; returns false and leaves the bitset intact when it is the last one
+  public boolean nextInPlace(BitSet bitSet) {
+    throwIfInvalid(bitSet);
+    int idx = bitSet.previousClearBit(n - 1);
+    if (idx < 0) {
+      return false;
+    }
+    bitSet.set(idx);
+    bitSet.clear(idx + 1, n);
+    return true;
   }
 
   public BitSet getNext(BitSet bitSet) {
@@ -59,16 +132,28 @@ public class BitsetFactory implements DiscreteObjectFactory<BitSet> {
     return BigInteger.TWO.pow(bitsCount);
   }
 
-  private BitSet getNextInner(BitSet bitset) {
-    bitset = (BitSet) bitset.clone();
-    for (int i = n - 1; i >= 0; i--) {
-      bitset.flip(i);
-      if (bitset.get(i)) {
-        return bitset;
+  // the first n bits of the words backwards, the words past them are zero
+  private static long[] reverseBits(long[] words, int n) {
+    int wordCount = words.length;
+    long[] reversed = new long[wordCount];
+    for (int i = 0; i < wordCount; ++i) {
+      reversed[wordCount - 1 - i] = Long.reverse(words[i]);
+    }
+
+    // the reversed bits sit at the top of wordCount words, shifted down by the unused tail
+    int shift = wordCount * Long.SIZE - n;
+    if (shift > 0) {
+      for (int i = 0; i < wordCount; ++i) {
+        long next = i + 1 < wordCount ? reversed[i + 1] : 0;
+        reversed[i] = (reversed[i] >>> shift) | (next << -shift);
       }
     }
+    return reversed;
+  }
 
-    return null;
+  private BitSet getNextInner(BitSet bitset) {
+    bitset = (BitSet) bitset.clone();
+    return nextInPlace(bitset) ? bitset : null;
   }
 
   private void throwIfInvalid(BitSet bitset) {
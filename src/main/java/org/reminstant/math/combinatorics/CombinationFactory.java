@@ -1,9 +1,7 @@
 package org.reminstant.math.combinatorics;
 
-import org.reminstant.math.Combinatorics;
 import org.reminstant.utils.ArrayUtils;
 import org.reminstant.utils.sequence.Sequence;
-import org.reminstant.utils.Lazy;
 
 import java.math.BigInteger;
 import java.util.Arrays;
@@ -16,12 +14,15 @@ public class CombinationFactory implements DiscreteObjectFactory<int[]> {
 
   private final int n;
   private final int k;
-  private final Lazy<BigInteger> count;
+  private final BigInteger count;
+  // -1 when the count does not fit in a long
+  private final long longCount;
 
   private CombinationFactory(int n, int k) {
     this.n = n;
     this.k = k;
-    this.count = Lazy.ofSupplier(() -> calculateCount(n, k));
+    this.count = CountCache.binomial(n, k);
+    this.longCount = count.bitLength() < Long.SIZE ? count.longValue() : -1;
   }
 
   public static CombinationFactory ofParams(int n, int k) {
@@ -30,7 +31,12 @@ public class CombinationFactory implements DiscreteObjectFactory<int[]> {
   }
 
   public BigInteger count() {
-    return count.get();
+    return count;
+  }
+
+  @Override
+  public boolean hasLongOrdinals() {
+    return longCount >= 0;
   }
 
   public boolean isValid(int[] combination) {
@@ -40,7 +46,7 @@ public class CombinationFactory implements DiscreteObjectFactory<int[]> {
   }
 
   public int[] byOrdinal(BigInteger ordinal) {
-    if (ordinal.compareTo(BigInteger.ZERO) < 0 || ordinal.compareTo(count.get()) >= 0) {
+    if (ordinal.compareTo(BigInteger.ZERO) < 0 || ordinal.compareTo(count) >= 0) {
       throw new NoSuchElementException("Such combination does not exist");
     }
 
@@ -50,7 +56,7 @@ public class CombinationFactory implements DiscreteObjectFactory<int[]> {
     int idx = 0;
     int next = 0;
     while (copyK > 0) {
-      BigInteger cc = CombinationFactory.ofParams(copyN - 1, copyK - 1).count();
+      BigInteger cc = CountCache.binomial(copyN - 1, copyK - 1);
       if (ordinal.compareTo(cc) < 0) {
         combination[idx++] = next;
         copyK -= 1;
@@ -69,16 +75,37 @@ public class CombinationFactory implements DiscreteObjectFactory<int[]> {
     BigInteger reverseOrdinal = BigInteger.ZERO;
     for (int i = 0; i < k; ++i) {
       int v = combination[i];
-      reverseOrdinal = reverseOrdinal.add(
-          CombinationFactory.ofParams(n - v - 1, k - i).count());
+      reverseOrdinal = reverseOrdinal.add(CountCache.binomial(n - v - 1, k - i));
     }
 
-    return CombinationFactory.ofParams(n, k)
-        .count()
+    return count
         .subtract(BigInteger.ONE)
         .subtract(reverseOrdinal);
   }
 
+  @Override
+  public int[] byOrdinal(long ordinal) {
+    if (longCount < 0) {
+      return byOrdinal(BigInteger.valueOf(ordinal));
+    }
+    if (ordinal < 0 || ordinal >= longCount) {
+      throw new NoSuchElementException("Such combination does not exist");
+    }
+
+    int[] combination = new int[k];
+    fillByOrdinal(n, k, ordinal, combination);
+    return combination;
+  }
+
+  @Override
+  public long toOrdinalLong(int[] combination) {
+    throwIfInvalid(combination);
+    if (longCount < 0) {
+      return toOrdinal(combination).longValueExact();
+    }
+    return ordinalOf(n, k, combination);
+  }
+
   public int[] getNext(int[] combination) {
     throwIfInvalid(combination);
     return getNextInner(combination);
@@ -94,22 +121,30 @@ public class CombinationFactory implements DiscreteObjectFactory<int[]> {
 
   
 
-  private static BigInteger calculateCount(int n, int k) {
-    if (k == 1) {
-      return BigInteger.valueOf(n);
-    }
-    if (k == 0 || k == n) {
-      return BigInteger.ONE;
-    }
-    if (k > n) {
-      return BigInteger.ZERO;
+  // Every binomial taken below is C(j + r, j) with j <= k and r <= n - k, so none exceeds C(n, k),
+  // the callers guarantee it fits in a long
+  static void fillByOrdinal(int n, int k, long ordinal, int[] combination) {
+    int idx = 0;
+    int next = 0;
+    while (k > 0) {
+      long cc = CountCache.binomialLong(n - 1, k - 1);
+      if (ordinal < cc) {
+        combination[idx++] = next;
+        k -= 1;
+      } else {
+        ordinal -= cc;
+      }
+      n -= 1;
+      next += 1;
     }
+  }
 
-    BigInteger res = BigInteger.ONE;
-    for (int i = Math.max(k, n - k) + 1; i <= n; ++i) {
-      res = res.parallelMultiply(BigInteger.valueOf(i));
+  static long ordinalOf(int n, int k, int[] combination) {
+    long reverseOrdinal = 0;
+    for (int i = 0; i < k; ++i) {
+      reverseOrdinal += CountCache.binomialLong(n - combination[i] - 1, k - i);
     }
-    return res.divide(Combinatorics.factorial(Math.min(k, n - k)));
+    return CountCache.binomialLong(n, k) - 1 - reverseOrdinal;
   }
 
   private int[] getNextInner(int[] combination) {
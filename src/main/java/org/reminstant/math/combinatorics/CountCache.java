@@ -0,0 +1,168 @@
+package org.reminstant.math.combinatorics;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+import static org.reminstant.math.combinatorics.CombinatoricsUtil.validateCombinatoricsParams;
+
+// Process-wide counts shared by the factories and Combinatorics. Binomials come from a Pascal triangle
+// grown on demand up to PASCAL_MAX_ROWS rows (half rows, the other half is symmetric), rows are published
+// copy-on-write so lookups take no lock. A long triangle mirrors it, holding -1 for the values past a long.
+// Binomials past the triangle and uniform partition counts are memoised in LRU maps of at most
+// MAX_MEMOISED_COUNTS entries each
+public final class CountCache {
+
+  public static final int PASCAL_MAX_ROWS = 512;
+  public static final int MAX_MEMOISED_COUNTS = 1 << 12;
+
+  private static final Object PASCAL_LOCK = new Object();
+  private static volatile BigInteger[][] pascalRows = {{BigInteger.ONE}};
+  private static volatile long[][] longPascalRows = {{1}};
+
+  private static final LruMap BINOMIALS = new LruMap();
+  private static final LruMap PARTITION_COUNTS = new LruMap();
+
+  private CountCache() {
+
+  }
+
+  public static BigInteger binomial(int n, int k) {
+    validateCombinatoricsParams(n, k);
+    if (k > n) {
+      return BigInteger.ZERO;
+    }
+    k = Math.min(k, n - k);
+
+    if (n < PASCAL_MAX_ROWS) {
+      BigInteger[][] rows = pascalRows;
+      if (n >= rows.length) {
+        rows = growPascal(n);
+      }
+      return rows[n][k];
+    }
+
+    long key = (long) n << Integer.SIZE | k;
+    BigInteger count = BINOMIALS.get(key);
+    if (count == null) {
+      count = calculateBinomial(n, k);
+      BINOMIALS.put(key, count);
+    }
+    return count;
+  }
+
+  // throws ArithmeticException when the binomial does not fit in a long
+  public static long binomialLong(int n, int k) {
+    validateCombinatoricsParams(n, k);
+    if (k > n) {
+      return 0;
+    }
+
+    long count;
+    if (n < PASCAL_MAX_ROWS) {
+      long[][] rows = longPascalRows;
+      if (n >= rows.length) {
+        growPascal(n);
+        rows = longPascalRows;
+      }
+      count = rows[n][Math.min(k, n - k)];
+    } else {
+      BigInteger bigCount = binomial(n, k);
+      count = bigCount.bitLength() < Long.SIZE ? bigCount.longValue() : -1;
+    }
+
+    if (count < 0) {
+      throw new ArithmeticException("long overflow");
+    }
+    return count;
+  }
+
+  // the number of partitions of an n-element set into k blocks of n / k elements
+  public static BigInteger uniformPartitionCount(int n, int k) {
+    validateCombinatoricsParams(n, k);
+    if (k == 1 || k == n) {
+      return BigInteger.ONE;
+    }
+    if (k > n || k == 0 || n % k != 0) {
+      return BigInteger.ZERO;
+    }
+
+    long key = (long) n << Integer.SIZE | k;
+    BigInteger count = PARTITION_COUNTS.get(key);
+    if (count == null) {
+      // the block of the least remaining element takes blockLength - 1 of the others
+      int blockLength = n / k;
+      count = BigInteger.ONE;
+      for (int i = 0; i + 1 < k; ++i) {
+        count = count.multiply(binomial(n - i * blockLength - 1, blockLength - 1));
+      }
+      PARTITION_COUNTS.put(key, count);
+    }
+    return count;
+  }
+
+
+
+  private static BigInteger[][] growPascal(int n) {
+    synchronized (PASCAL_LOCK) {
+      BigInteger[][] rows = pascalRows;
+      if (n < rows.length) {
+        return rows;
+      }
+
+      // grows at least twice to keep the copying amortised
+      int rowCount = Math.min(PASCAL_MAX_ROWS, Math.max(n + 1, 2 * rows.length));
+      BigInteger[][] grownRows = new BigInteger[rowCount][];
+      long[][] grownLongRows = new long[rowCount][];
+      System.arraycopy(rows, 0, grownRows, 0, rows.length);
+      System.arraycopy(longPascalRows, 0, grownLongRows, 0, rows.length);
+      for (int m = rows.length; m < rowCount; ++m) {
+        BigInteger[] previousRow = grownRows[m - 1];
+        BigInteger[] row = new BigInteger[m / 2 + 1];
+        row[0] = BigInteger.ONE;
+        for (int j = 1; j < row.length; ++j) {
+          // C(m - 1, j) = C(m - 1, m - 1 - j) lies past the stored half when j > (m - 1) / 2
+          BigInteger right = j < previousRow.length ? previousRow[j] : previousRow[m - 1 - j];
+          row[j] = previousRow[j - 1].add(right);
+        }
+        grownRows[m] = row;
+        grownLongRows[m] = Arrays.stream(row)
+            .mapToLong(x -> x.bitLength() < Long.SIZE ? x.longValue() : -1)
+            .toArray();
+      }
+      longPascalRows = grownLongRows;
+      pascalRows = grownRows;
+      return grownRows;
+    }
+  }
+
+  private static BigInteger calculateBinomial(int n, int k) {
+    BigInteger numerator = BigInteger.ONE;
+    BigInteger denominator = BigInteger.ONE;
+    for (int i = 1; i <= k; ++i) {
+      numerator = numerator.multiply(BigInteger.valueOf(n - k + i));
+      denominator = denominator.multiply(BigInteger.valueOf(i));
+    }
+    return numerator.divide(denominator);
+  }
+
+  // counts are computed outside the lock, concurrent misses on one key may compute it twice
+  private static final class LruMap {
+
+    private final LinkedHashMap<Long, BigInteger> counts = new LinkedHashMap<>(16, 0.75f, true);
+
+    synchronized BigInteger get(long key) {
+      return counts.get(key);
+    }
+
+    synchronized void put(long key, BigInteger count) {
+      counts.put(key, count);
+      if (counts.size() > MAX_MEMOISED_COUNTS) {
+        Iterator<Long> eldest = counts.keySet().iterator();
+        eldest.next();
+        eldest.remove();
+      }
+    }
+  }
+}
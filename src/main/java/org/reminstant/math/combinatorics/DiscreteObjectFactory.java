@@ -8,6 +8,11 @@ public interface DiscreteObjectFactory<T> {
 
   BigInteger count();
 
+  // when true, every ordinal fits in a long and the long overloads avoid BigInteger arithmetic
+  default boolean hasLongOrdinals() {
+    return count().bitLength() < Long.SIZE;
+  }
+
   @SuppressWarnings("BooleanMethodIsAlwaysInverted")
   boolean isValid(T object);
 
@@ -19,6 +24,11 @@ public interface DiscreteObjectFactory<T> {
 
   BigInteger toOrdinal(T object);
 
+  // throws ArithmeticException when the ordinal does not fit in a long
+  default long toOrdinalLong(T object) {
+    return toOrdinal(object).longValueExact();
+  }
+
   T getNext(T object);
 
   Sequence<T> sequence();
@@ -0,0 +1,49 @@
+package org.reminstant.math.combinatorics;
+
+// Counts of the elements 0..size-1 still left, answering "how many left below x" and
+// "which is the n-th left" in O(log size)
+final class FenwickTree {
+
+  private final int[] tree;
+  private final int highestStep;
+
+  // every element starts present
+  FenwickTree(int size) {
+    this.tree = new int[size + 1];
+    this.highestStep = Integer.highestOneBit(Math.max(size, 1));
+    for (int i = 1; i <= size; ++i) {
+      tree[i] += 1;
+      int parent = i + (i & -i);
+      if (parent <= size) {
+        tree[parent] += tree[i];
+      }
+    }
+  }
+
+  void remove(int element) {
+    for (int i = element + 1; i < tree.length; i += i & -i) {
+      tree[i]--;
+    }
+  }
+
+  // the number of present elements less than element
+  int countBelow(int element) {
+    int count = 0;
+    for (int i = element; i > 0; i -= i & -i) {
+      count += tree[i];
+    }
+    return count;
+  }
+
+  // the present element with exactly nth present elements below it
+  int findNth(int nth) {
+    int position = 0;
+    for (int step = highestStep; step > 0; step >>>= 1) {
+      if (position + step < tree.length && tree[position + step] <= nth) {
+        position += step;
+        nth -= tree[position];
+      }
+    }
+    return position;
+  }
+}
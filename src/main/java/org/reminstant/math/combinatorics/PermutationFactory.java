@@ -11,9 +11,17 @@ import java.util.stream.IntStream;
 
 import static org.reminstant.math.combinatorics.CombinatoricsUtil.validateCombinatoricsParam;
 
-// TODO: tests
+// Ranks are Lehmer codes read in the factorial number system: the i-th digit is the number of elements
+// left smaller than permutation[i] and has the radix n - i, the FenwickTree keeps the elements left.
+// Past a long the digits are split in halves, joined and separated by the products of the radices
+// of the lower halves, so big arithmetic goes to few large multiplications and divisions
 public class PermutationFactory implements DiscreteObjectFactory<int[]> {
 
+  // 20! is the last factorial to fit in a long
+  public static final int MAX_LONG_ORDINALS_N = 20;
+
+  private static final int RADIX_PRODUCT_LEAF_LENGTH = 16;
+
   private final int n;
   private final Lazy<BigInteger> count;
 
@@ -32,9 +40,22 @@ public class PermutationFactory implements DiscreteObjectFactory<int[]> {
   }
 
   public boolean isValid(int[] permutation) {
-    return permutation.length == n &&
-        !ArrayUtils.hasDuplicates(permutation) &&
-        ArrayUtils.allMatch(permutation, x -> x >= 0 && x < n);
+    if (permutation.length != n) {
+      return false;
+    }
+    boolean[] seenElements = new boolean[n];
+    for (int x : permutation) {
+      if (x < 0 || x >= n || seenElements[x]) {
+        return false;
+      }
+      seenElements[x] = true;
+    }
+    return true;
+  }
+
+  @Override
+  public boolean hasLongOrdinals() {
+    return n <= MAX_LONG_ORDINALS_N;
   }
 
   public int[] byOrdinal(BigInteger ordinal) {
@@ -42,13 +63,44 @@ public class PermutationFactory implements DiscreteObjectFactory<int[]> {
       throw new NoSuchElementException("Such permutation does not exist");
     }
 
-    throw new UnsupportedOperationException("todo"); // TODO:
+    int[] lehmerCode = new int[n];
+    fillLehmerCode(ordinal, 0, n, lehmerCode);
+    return fromLehmerCode(lehmerCode);
+  }
+
+  @Override
+  public int[] byOrdinal(long ordinal) {
+    if (n > MAX_LONG_ORDINALS_N) {
+      return byOrdinal(BigInteger.valueOf(ordinal));
+    }
+    if (ordinal < 0 || ordinal >= count.get().longValue()) {
+      throw new NoSuchElementException("Such permutation does not exist");
+    }
+
+    int[] lehmerCode = new int[n];
+    fillLehmerCode(ordinal, 0, n, lehmerCode);
+    return fromLehmerCode(lehmerCode);
   }
 
   public BigInteger toOrdinal(int[] permutation) {
     throwIfInvalid(permutation);
+    return getLehmerCodeValue(toLehmerCode(permutation), 0, n)[0];
+  }
+
+  @Override
+  public long toOrdinalLong(int[] permutation) {
+    throwIfInvalid(permutation);
+    if (n > MAX_LONG_ORDINALS_N) {
+      return toOrdinal(permutation).longValueExact();
+    }
 
-    throw new UnsupportedOperationException("todo"); // TODO:
+    int[] lehmerCode = toLehmerCode(permutation);
+    long ordinal = 0;
+    for (int i = 0; i < n; ++i) {
+      ordinal = ordinal * (n - i) + lehmerCode[i];
+    }
+
+    return ordinal;
   }
 
   public int[] getNext(int[] permutation) {
@@ -65,11 +117,95 @@ public class PermutationFactory implements DiscreteObjectFactory<int[]> {
   
 
   private static BigInteger calculateCount(int n) {
-    BigInteger res = BigInteger.ONE;
-    for (int i = 2; i <= n; ++i) {
-      res = res.multiply(BigInteger.valueOf(i));
+    return getRadixProduct(n, 0, n);
+  }
+
+  // the product of the radices n - i of the digits from..to-1
+  private static BigInteger getRadixProduct(int n, int from, int to) {
+    if (to - from > RADIX_PRODUCT_LEAF_LENGTH) {
+      int middle = (from + to) >>> 1;
+      return getRadixProduct(n, from, middle).multiply(getRadixProduct(n, middle, to));
+    }
+
+    BigInteger product = BigInteger.ONE;
+    long chunk = 1;
+    for (int i = from; i < to; ++i) {
+      if (chunk > Long.MAX_VALUE / (n - i)) {
+        product = product.multiply(BigInteger.valueOf(chunk));
+        chunk = 1;
+      }
+      chunk *= n - i;
+    }
+    return product.multiply(BigInteger.valueOf(chunk));
+  }
+
+  // the digits from..to-1 of the value, which is below the product of their radices
+  private void fillLehmerCode(BigInteger value, int from, int to, int[] lehmerCode) {
+    if (value.bitLength() < Long.SIZE) {
+      fillLehmerCode(value.longValue(), from, to, lehmerCode);
+      return;
+    }
+
+    int middle = (from + to) >>> 1;
+    BigInteger[] tmp = value.divideAndRemainder(getRadixProduct(n, middle, to));
+    fillLehmerCode(tmp[0], from, middle, lehmerCode);
+    fillLehmerCode(tmp[1], middle, to, lehmerCode);
+  }
+
+  private void fillLehmerCode(long value, int from, int to, int[] lehmerCode) {
+    for (int i = to - 1; i >= from; --i) {
+      lehmerCode[i] = (int) (value % (n - i));
+      value /= n - i;
+    }
+  }
+
+  // {value, radix product} of the digits from..to-1
+  private BigInteger[] getLehmerCodeValue(int[] lehmerCode, int from, int to) {
+    if (to - from > RADIX_PRODUCT_LEAF_LENGTH) {
+      int middle = (from + to) >>> 1;
+      BigInteger[] high = getLehmerCodeValue(lehmerCode, from, middle);
+      BigInteger[] low = getLehmerCodeValue(lehmerCode, middle, to);
+      return new BigInteger[] {
+          high[0].multiply(low[1]).add(low[0]),
+          high[1].multiply(low[1])
+      };
+    }
+
+    // Horner's scheme, in long arithmetic while the radix product fits
+    BigInteger value = BigInteger.ZERO;
+    BigInteger radixProduct = BigInteger.ONE;
+    int i = from;
+    while (i < to) {
+      long chunk = 0;
+      long chunkRadix = 1;
+      for (; i < to && chunkRadix <= Long.MAX_VALUE / (n - i); ++i) {
+        chunk = chunk * (n - i) + lehmerCode[i];
+        chunkRadix *= n - i;
+      }
+      value = value.multiply(BigInteger.valueOf(chunkRadix)).add(BigInteger.valueOf(chunk));
+      radixProduct = radixProduct.multiply(BigInteger.valueOf(chunkRadix));
+    }
+    return new BigInteger[] {value, radixProduct};
+  }
+
+  private int[] fromLehmerCode(int[] lehmerCode) {
+    FenwickTree leftElements = new FenwickTree(n);
+    int[] permutation = new int[n];
+    for (int i = 0; i < n; ++i) {
+      permutation[i] = leftElements.findNth(lehmerCode[i]);
+      leftElements.remove(permutation[i]);
+    }
+    return permutation;
+  }
+
+  private int[] toLehmerCode(int[] permutation) {
+    FenwickTree leftElements = new FenwickTree(n);
+    int[] lehmerCode = new int[n];
+    for (int i = 0; i < n; ++i) {
+      lehmerCode[i] = leftElements.countBelow(permutation[i]);
+      leftElements.remove(permutation[i]);
     }
-    return res;
+    return lehmerCode;
   }
 
   private int[] getNextInner(int[] permutation) {
@@ -3,7 +3,6 @@ package org.reminstant.math.combinatorics;
 import org.reminstant.math.Combinatorics;
 import org.reminstant.utils.ArrayUtils;
 import org.reminstant.utils.sequence.Sequence;
-import org.reminstant.utils.Lazy;
 
 import java.math.BigInteger;
 import java.util.*;
@@ -16,13 +15,19 @@ public class UniformPartitionFactory implements DiscreteObjectFactory<int[]> {
   private final int n;
   private final int k;
   private final int blockLength;
-  private final Lazy<BigInteger> count;
+  private final BigInteger count;
+  // tailCounts[i] is the count of partitions of what is left after block i, null when the long path
+  // does not apply: the count or a block combination count do not fit in a long
+  private final long[] tailCounts;
 
   private UniformPartitionFactory(int n, int k) {
     this.n = n;
     this.k = k;
     this.blockLength = k != 0 ? (n / k) : 0;
-    this.count = Lazy.ofSupplier(() -> calculateCount(n, k));
+    this.count = CountCache.uniformPartitionCount(n, k);
+    this.tailCounts = count.bitLength() < Long.SIZE && CountCache.binomial(n, blockLength).bitLength() < Long.SIZE
+        ? calculateTailCounts(n, k, blockLength)
+        : null;
   }
 
   public static UniformPartitionFactory ofParams(int n, int k) {
@@ -31,7 +36,7 @@ public class UniformPartitionFactory implements DiscreteObjectFactory<int[]> {
   }
 
   public BigInteger count() {
-    return count.get();
+    return count;
   }
 
   public boolean isValid(int[] partition) {
@@ -51,7 +56,7 @@ public class UniformPartitionFactory implements DiscreteObjectFactory<int[]> {
   }
 
   public int[] byOrdinal(BigInteger ordinal) {
-    if (ordinal.compareTo(BigInteger.ZERO) < 0 || ordinal.compareTo(count.get()) >= 0) {
+    if (ordinal.compareTo(BigInteger.ZERO) < 0 || ordinal.compareTo(count) >= 0) {
       throw new NoSuchElementException("Such uniform partition does not exist");
     }
 
@@ -59,8 +64,7 @@ public class UniformPartitionFactory implements DiscreteObjectFactory<int[]> {
     boolean[] usedElements = new boolean[n];
 
     for (int i = 0; i < k; ++i) {
-      BigInteger div = UniformPartitionFactory
-          .ofParams(n - (i + 1) * blockLength, k - (i + 1)).count();
+      BigInteger div = CountCache.uniformPartitionCount(n - (i + 1) * blockLength, k - (i + 1));
       if (div.equals(BigInteger.ZERO)) {
         div = BigInteger.ONE;
       }
@@ -99,14 +103,68 @@ public class UniformPartitionFactory implements DiscreteObjectFactory<int[]> {
 
       BigInteger blockOrdinal = CombinationFactory
           .ofParams(n - i * blockLength, blockLength).toOrdinal(partitionBlock);
-      BigInteger tailCount = UniformPartitionFactory
-          .ofParams(n - (i + 1) * blockLength, k - (i + 1)).count();
+      BigInteger tailCount = CountCache.uniformPartitionCount(n - (i + 1) * blockLength, k - (i + 1));
       ordinal = ordinal.add(blockOrdinal.multiply(tailCount));
     }
 
     return ordinal;
   }
 
+  @Override
+  public int[] byOrdinal(long ordinal) {
+    if (tailCounts == null) {
+      return byOrdinal(BigInteger.valueOf(ordinal));
+    }
+    if (ordinal < 0 || ordinal >= count.longValue()) {
+      throw new NoSuchElementException("Such uniform partition does not exist");
+    }
+
+    int[] partition = new int[n];
+    FenwickTree leftElements = new FenwickTree(n);
+    int[] partitionBlock = new int[blockLength];
+
+    for (int i = 0; i < k; ++i) {
+      long blockOrdinal = ordinal / tailCounts[i];
+      ordinal %= tailCounts[i];
+      CombinationFactory.fillByOrdinal(n - i * blockLength, blockLength, blockOrdinal, partitionBlock);
+
+      for (int j = 0; j < blockLength; ++j) {
+        int value = leftElements.findNth(partitionBlock[j] - j);
+        partition[i * blockLength + j] = value;
+        leftElements.remove(value);
+      }
+    }
+
+    return partition;
+  }
+
+  @Override
+  public long toOrdinalLong(int[] partition) {
+    throwIfInvalid(partition);
+    if (tailCounts == null) {
+      return toOrdinal(partition).longValueExact();
+    }
+
+    FenwickTree leftElements = new FenwickTree(n);
+    long ordinal = 0;
+    int[] partitionBlock = new int[blockLength];
+
+    for (int i = 0; i < k; ++i) {
+      // elements are renumbered among the ones left by the previous blocks, O(log n) each
+      for (int j = 0; j < blockLength; ++j) {
+        partitionBlock[j] = leftElements.countBelow(partition[i * blockLength + j]);
+      }
+      for (int j = 0; j < blockLength; ++j) {
+        leftElements.remove(partition[i * blockLength + j]);
+      }
+
+      long blockOrdinal = CombinationFactory.ordinalOf(n - i * blockLength, blockLength, partitionBlock);
+      ordinal += blockOrdinal * tailCounts[i];
+    }
+
+    return ordinal;
+  }
+
   public int[] getNext(int[] partition) {
     throwIfInvalid(partition);
     return getNextInner(partition);
@@ -122,31 +180,17 @@ public class UniformPartitionFactory implements DiscreteObjectFactory<int[]> {
 
   
 
-  private static BigInteger calculateCount(int n, int k) {
-    if (k == 1 || k == n) {
-      return BigInteger.ONE;
-    }
-    if (k > n || k == 0 || n % k != 0) {
-      return BigInteger.ZERO;
+  private static long[] calculateTailCounts(int n, int k, int blockLength) {
+    long[] tailCounts = new long[k];
+    for (int i = 0; i < k; ++i) {
+      tailCounts[i] = CountCache.uniformPartitionCount(n - (i + 1) * blockLength, k - (i + 1)).longValue();
     }
-
-    int blockLength = n / k;
-    return Combinatorics.factorial(n)
-        .divide(Combinatorics.factorial(k))
-        .divide(Combinatorics.factorial(blockLength).pow(k));
+    return tailCounts;
   }
 
   private int[] getNextInner(int[] partition) {
-    // TODO: MAAN, CONSTRUCT NORMAL ALGO, NOT THAT STUPIDITY...
-    if (partition.length == 0) {
-      return null;
-    }
-    BigInteger ordinal = toOrdinal(partition);
-    BigInteger nextOrdinal = ordinal.add(BigInteger.ONE);
-    if (nextOrdinal.compareTo(count()) >= 0) {
-      return null;
-    }
-    return byOrdinal(nextOrdinal);
+    partition = Arrays.copyOf(partition, partition.length);
+    return Combinatorics.nextSetPartitionInPlace(n, k, partition) ? partition : null;
   }
 
   private void throwIfInvalid(int[] partition) {
@@ -0,0 +1,107 @@
+package org.reminstant.math.graphtheory;
+
+import java.util.Arrays;
+
+// Isomorphism invariant 64-bit hash of a (hyper)graph given by its flat edge vertices array.
+// Combines the sorted degree sequence, the histogram of co-degrees (edges shared by a vertex pair)
+// and the sorted vertex colours after a few rounds of colour refinement over incident edges.
+// Isomorphic graphs always have equal fingerprints, equal fingerprints only suggest isomorphism
+public final class GraphFingerprint {
+
+  private static final int REFINEMENT_ROUNDS = 4;
+
+  private GraphFingerprint() {
+  }
+
+  // edgeVertices holds edgeDimension vertices of every edge one after another
+  public static long of(int verticesCount, int edgeDimension, int[] edgeVertices) {
+    int edgeCount = edgeDimension == 0 ? 0 : edgeVertices.length / edgeDimension;
+    long hash = mix(verticesCount);
+    hash = combine(hash, edgeDimension);
+    hash = combine(hash, edgeCount);
+
+    long[] colors = new long[verticesCount];
+    for (int vertex : edgeVertices) {
+      colors[vertex]++;
+    }
+    hash = combine(hash, hashSorted(colors.clone()));
+    hash = combine(hash, hashCoDegreeHistogram(verticesCount, edgeDimension, edgeCount, edgeVertices));
+
+    // commutative sums keep every round independent of vertex and edge order
+    long[] refinedColors = new long[verticesCount];
+    for (int round = 0; round < REFINEMENT_ROUNDS; ++round) {
+      for (int vertex = 0; vertex < verticesCount; ++vertex) {
+        refinedColors[vertex] = colors[vertex] * 31;
+      }
+      for (int edge = 0; edge < edgeCount; ++edge) {
+        long edgeHash = 0;
+        for (int i = edge * edgeDimension; i < (edge + 1) * edgeDimension; ++i) {
+          edgeHash += mix(colors[edgeVertices[i]]);
+        }
+        for (int i = edge * edgeDimension; i < (edge + 1) * edgeDimension; ++i) {
+          refinedColors[edgeVertices[i]] += mix(edgeHash);
+        }
+      }
+      System.arraycopy(refinedColors, 0, colors, 0, verticesCount);
+    }
+    return combine(hash, hashSorted(colors));
+  }
+
+
+
+  // pairs are packed into longs and counted after sorting, so no n^2 matrix is needed
+  private static long hashCoDegreeHistogram(int verticesCount, int edgeDimension, int edgeCount, int[] edgeVertices) {
+    long[] pairs = new long[edgeCount * (edgeDimension * (edgeDimension - 1) / 2)];
+    int pairCount = 0;
+    for (int edge = 0; edge < edgeCount; ++edge) {
+      int edgeOffset = edge * edgeDimension;
+      for (int i = 0; i < edgeDimension; ++i) {
+        for (int j = i + 1; j < edgeDimension; ++j) {
+          int u = Math.min(edgeVertices[edgeOffset + i], edgeVertices[edgeOffset + j]);
+          int v = Math.max(edgeVertices[edgeOffset + i], edgeVertices[edgeOffset + j]);
+          pairs[pairCount++] = (long) u * verticesCount + v;
+        }
+      }
+    }
+    Arrays.sort(pairs);
+
+    // histogram[d] = number of vertex pairs with co-degree d
+    int[] histogram = new int[edgeCount + 1];
+    for (int i = 0; i < pairs.length; ) {
+      int j = i;
+      while (j < pairs.length && pairs[j] == pairs[i]) {
+        j++;
+      }
+      histogram[j - i]++;
+      i = j;
+    }
+
+    long hash = 0;
+    for (int coDegree = 1; coDegree < histogram.length; ++coDegree) {
+      if (histogram[coDegree] != 0) {
+        hash = combine(combine(hash, coDegree), histogram[coDegree]);
+      }
+    }
+    return hash;
+  }
+
+  private static long hashSorted(long[] values) {
+    Arrays.sort(values);
+    long hash = values.length;
+    for (long value : values) {
+      hash = combine(hash, value);
+    }
+    return hash;
+  }
+
+  private static long combine(long hash, long value) {
+    return mix(hash * 31 + value);
+  }
+
+  // SplitMix64 finalizer
+  private static long mix(long value) {
+    value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+    value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+    return value ^ (value >>> 31);
+  }
+}
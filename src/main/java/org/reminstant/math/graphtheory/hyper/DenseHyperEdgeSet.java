@@ -0,0 +1,151 @@
+package org.reminstant.math.graphtheory.hyper;
+
+import java.util.Arrays;
+
+// Plain bitmap over all edge indices; set operations between dense sets go word by word.
+// Bits past edgeMaxCount in the last word are always clear
+final class DenseHyperEdgeSet implements HyperEdgeSet {
+
+  private final long[] words;
+  private final long lastWordMask;
+  private int cardinality;
+
+  DenseHyperEdgeSet(int edgeMaxCount) {
+    this.words = new long[(int) ((edgeMaxCount + 63L) >>> 6)];
+    this.lastWordMask = -1L >>> -edgeMaxCount;
+  }
+
+  private DenseHyperEdgeSet(long[] words, long lastWordMask, int cardinality) {
+    this.words = words;
+    this.lastWordMask = lastWordMask;
+    this.cardinality = cardinality;
+  }
+
+  // Long.MAX_VALUE when edge indices do not fit into a BitSet
+  static long estimateByteSize(long edgeMaxCount) {
+    return edgeMaxCount > Integer.MAX_VALUE ? Long.MAX_VALUE : 16 + ((edgeMaxCount + 63) >>> 6) * Long.BYTES;
+  }
+
+  @Override
+  public long cardinality() {
+    return cardinality;
+  }
+
+  @Override
+  public boolean contains(long edgeIndex) {
+    return edgeIndex >= 0 && (edgeIndex >>> 6) < words.length && (words[(int) (edgeIndex >>> 6)] & (1L << edgeIndex)) != 0;
+  }
+
+  @Override
+  public boolean add(long edgeIndex) {
+    int word = Math.toIntExact(edgeIndex >>> 6);
+    if ((words[word] & (1L << edgeIndex)) != 0) {
+      return false;
+    }
+    words[word] |= 1L << edgeIndex;
+    cardinality++;
+    return true;
+  }
+
+  @Override
+  public long next(long fromIndex) {
+    fromIndex = Math.max(fromIndex, 0);
+    if ((fromIndex >>> 6) >= words.length) {
+      return -1;
+    }
+    int word = (int) (fromIndex >>> 6);
+    long bits = words[word] & (-1L << fromIndex);
+    while (bits == 0) {
+      if (++word == words.length) {
+        return -1;
+      }
+      bits = words[word];
+    }
+    return ((long) word << 6) + Long.numberOfTrailingZeros(bits);
+  }
+
+  @Override
+  public long estimatedByteSize() {
+    return 16 + (long) words.length * Long.BYTES;
+  }
+
+  @Override
+  public HyperEdgeSet copy() {
+    return new DenseHyperEdgeSet(words.clone(), lastWordMask, cardinality);
+  }
+
+
+
+  // Both operands must span the same edge count. Any of them may be this set itself,
+  // every word is read before it is written
+
+  boolean containsAll(DenseHyperEdgeSet other) {
+    for (int i = 0; i < words.length; ++i) {
+      if ((other.words[i] & ~words[i]) != 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  boolean intersects(DenseHyperEdgeSet other) {
+    for (int i = 0; i < words.length; ++i) {
+      if ((words[i] & other.words[i]) != 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  long intersectionCount(DenseHyperEdgeSet other) {
+    long count = 0;
+    for (int i = 0; i < words.length; ++i) {
+      count += Long.bitCount(words[i] & other.words[i]);
+    }
+    return count;
+  }
+
+  void setUnion(DenseHyperEdgeSet a, DenseHyperEdgeSet b) {
+    int count = 0;
+    for (int i = 0; i < words.length; ++i) {
+      words[i] = a.words[i] | b.words[i];
+      count += Long.bitCount(words[i]);
+    }
+    cardinality = count;
+  }
+
+  void setIntersection(DenseHyperEdgeSet a, DenseHyperEdgeSet b) {
+    int count = 0;
+    for (int i = 0; i < words.length; ++i) {
+      words[i] = a.words[i] & b.words[i];
+      count += Long.bitCount(words[i]);
+    }
+    cardinality = count;
+  }
+
+  void setDifference(DenseHyperEdgeSet a, DenseHyperEdgeSet b) {
+    int count = 0;
+    for (int i = 0; i < words.length; ++i) {
+      words[i] = a.words[i] & ~b.words[i];
+      count += Long.bitCount(words[i]);
+    }
+    cardinality = count;
+  }
+
+  void setComplement(DenseHyperEdgeSet a) {
+    int count = 0;
+    for (int i = 0; i < words.length; ++i) {
+      words[i] = ~a.words[i];
+      if (i == words.length - 1) {
+        words[i] &= lastWordMask;
+      }
+      count += Long.bitCount(words[i]);
+    }
+    cardinality = count;
+  }
+
+  void clear() {
+    Arrays.fill(words, 0);
+    cardinality = 0;
+  }
+}
@@ -0,0 +1,8 @@
+package org.reminstant.math.graphtheory.hyper;
+
+// vertices is a shared ascending buffer, valid only during the call and must not be modified
+@FunctionalInterface
+public interface EdgeConsumer {
+
+  void accept(long edgeIndex, int[] vertices);
+}
@@ -0,0 +1,95 @@
+package org.reminstant.math.graphtheory.hyper;
+
+import java.util.NoSuchElementException;
+
+// Walks the edges of a hypergraph in edge index order, reusing one vertex buffer.
+// Close edge indices are reached by lexicographic successor steps, distant ones are unranked
+public final class EdgeCursor {
+
+  private static final int MAX_SUCCESSOR_STEPS = 8;
+
+  private final HyperEdgeSet edges;
+  private final HyperEdgeIndexer indexer;
+  private final int verticesCount;
+  private final int edgeDimension;
+  private final int[] vertices;
+  private final long toIndex;
+  private long edgeIndex;
+  private boolean positioned;
+
+  EdgeCursor(HyperEdgeSet edges, int verticesCount, int edgeDimension) {
+    this(edges, verticesCount, edgeDimension, 0, Long.MAX_VALUE);
+  }
+
+  // walks only the edges with indices in [fromIndex, toIndex)
+  EdgeCursor(HyperEdgeSet edges, int verticesCount, int edgeDimension, long fromIndex, long toIndex) {
+    this.edges = edges;
+    this.indexer = HyperEdgeIndexer.of(verticesCount, edgeDimension);
+    this.verticesCount = verticesCount;
+    this.edgeDimension = edgeDimension;
+    this.vertices = new int[edgeDimension];
+    this.toIndex = Math.min(toIndex, indexer.getEdgeCount());
+    this.edgeIndex = fromIndex - 1;
+  }
+
+  public boolean next() {
+    long nextEdgeIndex = edgeIndex + 1 >= toIndex ? -1 : edges.next(edgeIndex + 1);
+    if (nextEdgeIndex < 0 || nextEdgeIndex >= toIndex) {
+      edgeIndex = toIndex - 1;
+      positioned = false;
+      return false;
+    }
+
+    if (positioned && nextEdgeIndex - edgeIndex <= MAX_SUCCESSOR_STEPS) {
+      for (long i = edgeIndex; i < nextEdgeIndex; ++i) {
+        stepToSuccessor();
+      }
+    } else {
+      indexer.getEdgeVertices(nextEdgeIndex, vertices, 0);
+    }
+    edgeIndex = nextEdgeIndex;
+    positioned = true;
+    return true;
+  }
+
+  public long edgeIndex() {
+    ensurePositioned();
+    return edgeIndex;
+  }
+
+  public int dimension() {
+    return edgeDimension;
+  }
+
+  public int vertex(int index) {
+    ensurePositioned();
+    return vertices[index];
+  }
+
+  // ascending vertices of the current edge, the buffer is overwritten by next() and must not be modified
+  public int[] vertices() {
+    ensurePositioned();
+    return vertices;
+  }
+
+  public HyperEdge toEdge() {
+    return HyperEdge.of(vertices());
+  }
+
+  private void stepToSuccessor() {
+    int idx = edgeDimension - 1;
+    while (vertices[idx] == verticesCount - edgeDimension + idx) {
+      idx--;
+    }
+    vertices[idx]++;
+    for (int i = idx + 1; i < edgeDimension; ++i) {
+      vertices[i] = vertices[i - 1] + 1;
+    }
+  }
+
+  private void ensurePositioned() {
+    if (!positioned) {
+      throw new NoSuchElementException("Cursor is not positioned at an edge");
+    }
+  }
+}
@@ -156,7 +156,7 @@ public class HHGeneratorAnalyzer {
     for (var entry : counter.entrySet()) {
       HomogenousHypergraph key = entry.getKey();
       int count = entry.getValue();
-      degreesCount[key.getDegreesList().getFirst()] += count;
+      degreesCount[key.degrees()[0]] += count;
     }
 
     try (var writer = Files.newBufferedWriter(vertexDistributionPath,
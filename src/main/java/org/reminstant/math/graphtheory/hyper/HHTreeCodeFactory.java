@@ -28,6 +28,9 @@ public class HHTreeCodeFactory implements DiscreteObjectFactory<HHTreeCode> {
   private final List<DiscreteObjectFactory<int[]>> jointsFactories;
 
   private BigInteger count;
+  // codeJointsCounts[x] is the count of codes and joints with x non-root blocks, null when the count
+  // does not fit in a long
+  private final long[] codeJointsCounts;
 
   private HHTreeCodeFactory(int verticesCount, int edgeDimension) {
     this.verticesCount = verticesCount;
@@ -54,6 +57,7 @@ public class HHTreeCodeFactory implements DiscreteObjectFactory<HHTreeCode> {
     this.jointsFactories = Collections.unmodifiableList(jointsFactoriesTmp);
 
     this.count = null;
+    this.codeJointsCounts = hasLongOrdinals() ? calculateCodeJointsCounts() : null;
   }
 
   public static HHTreeCodeFactory ofParams(int verticesCount, int edgeDimension) {
@@ -114,6 +118,26 @@ public class HHTreeCodeFactory implements DiscreteObjectFactory<HHTreeCode> {
     return new HHTreeCode(partition, codeJoints.first(), codeJoints.second());
   }
 
+  @Override
+  public HHTreeCode byOrdinal(long ordinal) {
+    if (codeJointsCounts == null) {
+      return byOrdinal(BigInteger.valueOf(ordinal));
+    }
+    if (ordinal < 0 || ordinal >= count().longValue()) {
+      throw new NoSuchElementException("Such hypertree code does not exist");
+    }
+
+    long partitionDiv = 0;
+    for (long codeJointsCount : codeJointsCounts) {
+      partitionDiv += codeJointsCount;
+    }
+
+    int[] partition = partitionFactory.byOrdinal(ordinal / partitionDiv);
+    Pair<int[], int[]> codeJoints = getCodeJointsByOrdinal(ordinal % partitionDiv);
+
+    return new HHTreeCode(partition, codeJoints.first(), codeJoints.second());
+  }
+
   public BigInteger toOrdinal(HHTreeCode combination) {
     throwIfInvalid(combination);
 
@@ -202,6 +226,35 @@ public class HHTreeCodeFactory implements DiscreteObjectFactory<HHTreeCode> {
     return Pair.of(code, joints);
   }
 
+  private Pair<int[], int[]> getCodeJointsByOrdinal(long ordinal) {
+    int nonRootCount = blockCount - 1;
+    while (ordinal >= codeJointsCounts[nonRootCount]) {
+      ordinal -= codeJointsCounts[nonRootCount];
+      nonRootCount -= 1;
+    }
+
+    long jointsCount = jointsFactories.get(nonRootCount).count().longValue();
+    long div = conditionalCodeFactories.get(nonRootCount).count().longValue() * jointsCount;
+    long nonRootOrdinal = ordinal / div;
+    ordinal %= div;
+
+    int[] nonRootIndices = nonRootIndicesFactories.get(nonRootCount).byOrdinal(nonRootOrdinal);
+    int[] conditionalCode = conditionalCodeFactories.get(nonRootCount).byOrdinal(ordinal / jointsCount);
+
+    int[] code = constructCodeFromConditional(conditionalCode, nonRootIndices);
+    int[] joints = jointsFactories.get(nonRootCount).byOrdinal(ordinal % jointsCount);
+
+    return Pair.of(code, joints);
+  }
+
+  private long[] calculateCodeJointsCounts() {
+    long[] counts = new long[blockCount];
+    for (int nonRootCount = 0; nonRootCount < blockCount; ++nonRootCount) {
+      counts[nonRootCount] = getCodeJointsCount(nonRootCount).longValue();
+    }
+    return counts;
+  }
+
   private int[] constructCodeFromConditional(int[] conditionalCode, int[] nonRootIndices) {
     int[] code = new int[blockCount - 1];
     Set<Integer> nonRootIndicesSet = Arrays.stream(nonRootIndices).boxed().collect(Collectors.toSet());
@@ -1,5 +1,6 @@
 package org.reminstant.math.graphtheory.hyper;
 
+import org.reminstant.math.IsomorphicallyComparable;
 import org.reminstant.math.graphtheory.ordinary.Graph;
 import org.reminstant.structure.DisjointSetUnion;
 
@@ -7,9 +8,11 @@ import java.util.*;
 
 public final class HomogenousHyperTree
     extends AbstractHyperTree
-//    implements IsomorphicallyComparable<HomogenousHyperTree>
+    implements IsomorphicallyComparable<HomogenousHyperTree>
 {
 
+  private HomogenousHypergraph graph;
+
   private HomogenousHyperTree(int verticesCount, Set<HyperEdge> edges) {
     super(verticesCount, edges);
   }
@@ -207,19 +210,21 @@ public final class HomogenousHyperTree
 //  }
 
 
-  // TODO:
-//  @Override
-//  public boolean isomorphicTo(HPHyperTree otherTree) {
-//    if (verticesCount != otherTree.verticesCount) {
-//      return false;
-//    }
-//    return false;
-
-//    String structure = serializeStructure();
-//    String otherStructure = otherTree.serializeStructure();
+  @Override
+  public long getIsomorphismFingerprint() {
+    return edges.isEmpty() ? verticesCount : asHypergraph().getIsomorphismFingerprint();
+  }
 
-//    return structure.equals(otherStructure);
-//  }
+  @Override
+  public boolean isomorphicTo(HomogenousHyperTree otherTree) {
+    if (verticesCount != otherTree.verticesCount || edges.size() != otherTree.edges.size()) {
+      return false;
+    }
+    if (edges.isEmpty()) {
+      return true;
+    }
+    return asHypergraph().isomorphicTo(otherTree.asHypergraph());
+  }
 
   @Override
   public boolean equals(Object o) {
@@ -236,6 +241,16 @@ public final class HomogenousHyperTree
 
 
 
+  // the tree is immutable, so its hypergraph (with the cached canonical form) is built once
+  private HomogenousHypergraph asHypergraph() {
+    if (graph == null) {
+      graph = HomogenousHypergraph.ofTree(this);
+    }
+    return graph;
+  }
+
+
+
 //  private String serializeStructure() {
 //    if (serializedStructure != null) {
 //      return serializedStructure;
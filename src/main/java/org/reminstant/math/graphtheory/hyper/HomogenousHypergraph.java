@@ -2,8 +2,9 @@ package org.reminstant.math.graphtheory.hyper;
 
 import org.reminstant.Validator;
 import org.reminstant.math.IsomorphicallyComparable;
-import org.reminstant.math.Combinatorics;
+import org.reminstant.math.graphtheory.GraphFingerprint;
 
+import java.nio.ByteBuffer;
 import java.util.*;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
@@ -12,28 +13,26 @@ public class HomogenousHypergraph implements IsomorphicallyComparable<Homogenous
 
   private final int verticesCount;
   private final int edgeDimension;
-  private final int edgeMaxCount;
-  private final BitSet edges;
-
-  private HomogenousHypergraph(int verticesCount, int edgeDimension, BitSet edgesBitset) {
+  private final long edgeMaxCount;
+  // backend is switched by density, see HyperEdgeSet.adapt
+  private HyperEdgeSet edges;
+  private HypergraphIncidenceIndex incidenceIndex;
+  private HypergraphCanonicalForm.Result canonicalForm;
+  private Long isomorphismFingerprint;
+  private byte[] encoding;
+
+  private HomogenousHypergraph(int verticesCount, int edgeDimension, HyperEdgeSet edges) {
     Validator.requireNonLess(verticesCount, 0, "verticesCount");
     Validator.requireNonLess(edgeDimension, 2, "edgeDimension");
 
     this.verticesCount = verticesCount;
     this.edgeDimension = edgeDimension;
-    this.edgeMaxCount = Combinatorics.combinationCount(verticesCount, edgeDimension).intValueExact();
-    this.edges = (BitSet) edgesBitset.clone();
-    this.edges.clear(edgeMaxCount, Integer.MAX_VALUE);
+    this.edgeMaxCount = HyperEdgeIndexer.of(verticesCount, edgeDimension).getEdgeCount();
+    this.edges = edges == null ? HyperEdgeSet.create(edgeMaxCount) : edges;
   }
 
   public HomogenousHypergraph(int verticesCount, int edgeDimension) {
-    Validator.requireNonLess(verticesCount, 0, "verticesCount");
-    Validator.requireNonLess(edgeDimension, 2, "edgeDimension");
-
-    this.verticesCount = verticesCount;
-    this.edgeDimension = edgeDimension;
-    this.edgeMaxCount = Combinatorics.combinationCount(verticesCount, edgeDimension).intValueExact();
-    this.edges = new BitSet(edgeMaxCount);
+    this(verticesCount, edgeDimension, null);
   }
 
   public static HomogenousHypergraph ofEdges(HyperEdge... edges) {
@@ -66,7 +65,18 @@ public class HomogenousHypergraph implements IsomorphicallyComparable<Homogenous
 
   public static HomogenousHypergraph ofEdgesBitset(int verticesCount, int edgeDimension,
                                                    BitSet edgesBitset) {
-    return new HomogenousHypergraph(verticesCount, edgeDimension, edgesBitset);
+    HomogenousHypergraph graph = new HomogenousHypergraph(verticesCount, edgeDimension);
+    graph.edges = HyperEdgeSet.ofBitSet(edgesBitset, graph.edgeMaxCount);
+    return graph;
+  }
+
+  // the edge set is owned by the graph afterwards
+  static HomogenousHypergraph ofEdgeSet(int verticesCount, int edgeDimension, HyperEdgeSet edges) {
+    return new HomogenousHypergraph(verticesCount, edgeDimension, edges);
+  }
+
+  public static HomogenousHypergraph copyOf(HomogenousHypergraph graph) {
+    return new HomogenousHypergraph(graph.verticesCount, graph.edgeDimension, graph.edges.copy());
   }
 
 
@@ -76,7 +86,11 @@ public class HomogenousHypergraph implements IsomorphicallyComparable<Homogenous
   }
 
   public int getEdgeCount() {
-    return edges.cardinality();
+    return Math.toIntExact(edges.cardinality());
+  }
+
+  public long getEdgeMaxCount() {
+    return edgeMaxCount;
   }
 
   public int getEdgeDimension() {
@@ -84,38 +98,67 @@ public class HomogenousHypergraph implements IsomorphicallyComparable<Homogenous
   }
 
   public Stream<HyperEdge> getEdges() {
-    return edges.stream()
+    return HyperEdgeSet.stream(edges)
         .mapToObj(idx -> HyperEdge.ofEdgeIndex(idx, verticesCount, edgeDimension));
   }
 
+  // throws UnsupportedOperationException if edge indices do not fit into int
   public BitSet getEdgesBitset() {
-    return (BitSet) edges.clone();
+    return HyperEdgeSet.toBitSet(edges);
+  }
+
+  public EdgeCursor edgeCursor() {
+    return new EdgeCursor(edges, verticesCount, edgeDimension);
+  }
+
+  public void forEachEdge(EdgeConsumer consumer) {
+    Validator.requireNonNull(consumer, "consumer");
+
+    EdgeCursor cursor = edgeCursor();
+    while (cursor.next()) {
+      consumer.accept(cursor.edgeIndex(), cursor.vertices());
+    }
   }
 
   public Stream<HyperEdge> getEdgesIncidentTo(int vertex) {
-    return edges.stream()
-        .mapToObj(edgeIndex -> HyperEdge.ofEdgeIndex(edgeIndex, verticesCount, edgeDimension))
-        .filter(edge -> edge.contains(vertex));
+    if (vertex < 0 || vertex >= verticesCount) {
+      return Stream.empty();
+    }
+    HypergraphIncidenceIndex index = getIncidenceIndex();
+    return index.getIncidentEdges(vertex).mapToObj(index::getEdge);
   }
 
+  // adjacent vertices are listed in ascending order
   public IntStream getVerticesAdjacentTo(int vertex) {
-    return getEdgesIncidentTo(vertex)
-        .flatMapToInt(HyperEdge::stream)
-        .distinct()
-        .filter(v -> v != vertex);
+    if (vertex < 0 || vertex >= verticesCount) {
+      return IntStream.empty();
+    }
+    return getIncidenceIndex().getAdjacentVertices(vertex);
   }
 
-  public List<Integer> getDegreesList() {
-    List<Integer> degreesList = new ArrayList<>(getVerticesCount());
-    for (int i = 0; i < getVerticesCount(); ++i) {
-      degreesList.add(0);
+  // a one-off degree query counts over the edges instead of building the whole incidence index
+  public int[] degrees() {
+    int[] degrees = new int[verticesCount];
+    if (incidenceIndex != null) {
+      for (int i = 0; i < verticesCount; ++i) {
+        degrees[i] = incidenceIndex.getDegree(i);
+      }
+    } else {
+      EdgeCursor cursor = edgeCursor();
+      while (cursor.next()) {
+        for (int vertex : cursor.vertices()) {
+          degrees[vertex]++;
+        }
+      }
     }
+    return degrees;
+  }
 
-    edges.stream()
-        .mapToObj(edgeIndex -> HyperEdge.ofEdgeIndex(edgeIndex, verticesCount, edgeDimension))
-        .flatMapToInt(HyperEdge::stream)
-        .forEach(v -> degreesList.set(v, degreesList.get(v) + 1));
-
+  public List<Integer> getDegreesList() {
+    List<Integer> degreesList = new ArrayList<>(verticesCount);
+    for (int degree : degrees()) {
+      degreesList.add(degree);
+    }
     return degreesList;
   }
 
@@ -129,76 +172,177 @@ public class HomogenousHypergraph implements IsomorphicallyComparable<Homogenous
       throw new IllegalArgumentException("One of vertices is not included in graph");
     }
 
-    int bitIndex = edge.getEdgeIndex(verticesCount);
-    if (edges.get(bitIndex)) {
+    if (!edges.add(edge.getLongEdgeIndex(verticesCount))) {
       return false;
     }
 
-    edges.set(bitIndex);
+    setEdges(HyperEdgeSet.adapt(edges, edgeMaxCount));
     return true;
   }
 
-  public boolean addEdgeByIndex(int edgeIndex) {
-    if (edgeIndex >= edges.size()) {
+  public boolean addEdgeByIndex(long edgeIndex) {
+    if (edgeIndex < 0 || edgeIndex >= edgeMaxCount) {
       throw new IllegalArgumentException("Index is too big");
     }
 
-    if (edges.get(edgeIndex)) {
+    if (!edges.add(edgeIndex)) {
       return false;
     }
 
-    edges.set(edgeIndex);
+    setEdges(HyperEdgeSet.adapt(edges, edgeMaxCount));
     return true;
   }
 
   public boolean contains(HomogenousHypergraph other) {
-    BitSet edgesCopy = (BitSet) edges.clone();
-    edgesCopy.or(other.edges);
-    return edges.equals(edgesCopy);
+    return containsAll(other);
   }
 
+  // Set algebra over edges; the operands must have the same vertices count and edge dimension.
+  // Dense edge sets are processed word by word and none of the queries allocate
 
-  void unionInPlace(HomogenousHypergraph other) {
-    edges.or(other.edges);
+  public boolean containsAll(HomogenousHypergraph other) {
+    requireSameShape(other);
+    return HyperEdgeSet.containsAll(edges, other.edges);
   }
 
-//  public HomogenousHypergraph complement() {
-//    HomogenousHypergraph graph = new HomogenousHypergraph(verticesCount, edgeDimension);
-//    graph.edges.xor(this.edges);
-//    return graph;
-//  }
+  public boolean intersects(HomogenousHypergraph other) {
+    requireSameShape(other);
+    return HyperEdgeSet.intersects(edges, other.edges);
+  }
 
-//  public HomogenousHypergraph difference(HomogenousHypergraph otherGraph) {
-//    List<Edge> res = new ArrayList<>(getEdges());
-//    res.retainAll(new HashSet<>(otherGraph.getEdges()));
-//    return org.reminstant.math.ordinary.graphtheory.Graph.ofEdges(res);
-//  }
+  public long intersectionCount(HomogenousHypergraph other) {
+    requireSameShape(other);
+    return HyperEdgeSet.intersectionCount(edges, other.edges);
+  }
 
+  // |A & B| / |A | B|, two empty graphs are equal
+  public double jaccardSimilarity(HomogenousHypergraph other) {
+    long intersectionCount = intersectionCount(other);
+    long unionCount = edges.cardinality() + other.edges.cardinality() - intersectionCount;
+    return unionCount == 0 ? 1 : (double) intersectionCount / unionCount;
+  }
 
+  public void unionInPlace(HomogenousHypergraph other) {
+    union(this, other, this);
+  }
+
+  // The operations below overwrite the target, which may be one of the operands.
+  // A target with a dense edge set keeps it, so a reused target does not allocate
+
+  public static void union(HomogenousHypergraph a, HomogenousHypergraph b, HomogenousHypergraph target) {
+    requireSameShape(a, b, target);
+    target.setEdges(HyperEdgeSet.union(a.edges, b.edges, target.edges, target.edgeMaxCount));
+  }
+
+  public static void intersection(HomogenousHypergraph a, HomogenousHypergraph b, HomogenousHypergraph target) {
+    requireSameShape(a, b, target);
+    target.setEdges(HyperEdgeSet.intersection(a.edges, b.edges, target.edges, target.edgeMaxCount));
+  }
+
+  public static void difference(HomogenousHypergraph a, HomogenousHypergraph b, HomogenousHypergraph target) {
+    requireSameShape(a, b, target);
+    target.setEdges(HyperEdgeSet.difference(a.edges, b.edges, target.edges, target.edgeMaxCount));
+  }
+
+  // throws UnsupportedOperationException if edge indices do not fit into int
+  public static void complement(HomogenousHypergraph a, HomogenousHypergraph target) {
+    requireSameShape(a, a, target);
+    target.setEdges(HyperEdgeSet.complement(a.edges, target.edges, target.edgeMaxCount));
+  }
+
+
+
+  // isomorphic graphs (with the same vertices count and edge dimension) have equal certificates,
+  // throws UnsupportedOperationException if edge indices do not fit into int
+  public BitSet getCanonicalCertificate() {
+    return HyperEdgeSet.toBitSet(getCanonicalForm().certificate());
+  }
+
+  // canonicalLabeling[v] is the vertex v is relabeled to in the canonical form
+  public int[] getCanonicalLabeling() {
+    return getCanonicalForm().labeling().clone();
+  }
+
+  @Override
+  public long getIsomorphismFingerprint() {
+    if (isomorphismFingerprint == null) {
+      int[] edgeVertices = new int[getEdgeCount() * edgeDimension];
+      int[] edgeOffset = new int[1];
+      forEachEdge((edgeIndex, vertices) -> {
+        System.arraycopy(vertices, 0, edgeVertices, edgeOffset[0], edgeDimension);
+        edgeOffset[0] += edgeDimension;
+      });
+      isomorphismFingerprint = GraphFingerprint.of(verticesCount, edgeDimension, edgeVertices);
+    }
+    return isomorphismFingerprint;
+  }
+
+  // the HypergraphCodec form as a read-only view, encoded once per edge set and dropped on every mutation,
+  // so it can serve as a cheap exact key of the current edges
+  public ByteBuffer getEncoding() {
+    if (encoding == null) {
+      ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(HypergraphCodec.getEncodedByteSize(this)));
+      HypergraphCodec.write(this, buffer);
+      encoding = buffer.array();
+    }
+    return ByteBuffer.wrap(encoding).asReadOnlyBuffer();
+  }
 
   @Override
   public boolean isomorphicTo(HomogenousHypergraph otherGraph) {
     if (equals(otherGraph)) {
       return true;
     }
+    if (verticesCount != otherGraph.verticesCount || edgeDimension != otherGraph.edgeDimension ||
+        edges.cardinality() != otherGraph.edges.cardinality() ||
+        getIsomorphismFingerprint() != otherGraph.getIsomorphismFingerprint()) {
+      return false;
+    }
 
-    Iterator<int[]> permutationGenerator = Combinatorics.permutationGenerator(verticesCount);
+    return HyperEdgeSet.equal(getCanonicalForm().certificate(), otherGraph.getCanonicalForm().certificate());
+  }
 
-    while (permutationGenerator.hasNext()) {
-      int[] mapping = permutationGenerator.next();
-      BitSet mappedEdges = new BitSet(edgeMaxCount);
-      edges.stream()
-          .mapToObj(idx -> HyperEdge.ofEdgeIndex(idx, verticesCount, edgeDimension))
-          .map(e -> e.mapBy(mapping))
-          .mapToInt(e -> e.getEdgeIndex(verticesCount))
-          .forEach(mappedEdges::set);
 
-      if (mappedEdges.equals(otherGraph.edges)) {
-        return true;
-      }
+
+  // built on the first incidence query and dropped on every mutation
+  private void setEdges(HyperEdgeSet edges) {
+    this.edges = edges;
+    incidenceIndex = null;
+    canonicalForm = null;
+    isomorphismFingerprint = null;
+    encoding = null;
+  }
+
+  private void requireSameShape(HomogenousHypergraph other) {
+    requireSameShape(this, other, this);
+  }
+
+  private static void requireSameShape(HomogenousHypergraph a, HomogenousHypergraph b, HomogenousHypergraph target) {
+    Validator.requireNonNull(a, "a");
+    Validator.requireNonNull(b, "b");
+    Validator.requireNonNull(target, "target");
+    if (a.verticesCount != b.verticesCount || a.edgeDimension != b.edgeDimension ||
+        a.verticesCount != target.verticesCount || a.edgeDimension != target.edgeDimension) {
+      throw new IllegalArgumentException("Graphs must have the same vertices count and edge dimension");
+    }
+  }
+
+  private HypergraphIncidenceIndex getIncidenceIndex() {
+    if (incidenceIndex == null) {
+      incidenceIndex = HypergraphIncidenceIndex.of(edges, verticesCount, edgeDimension);
     }
+    return incidenceIndex;
+  }
+
+  HyperEdgeSet getEdgeSet() {
+    return edges;
+  }
 
-    return false;
+  private HypergraphCanonicalForm.Result getCanonicalForm() {
+    if (canonicalForm == null) {
+      canonicalForm = HypergraphCanonicalForm.of(edges, verticesCount, edgeDimension);
+    }
+    return canonicalForm;
   }
 
 
@@ -207,14 +351,15 @@ public class HomogenousHypergraph implements IsomorphicallyComparable<Homogenous
   public final boolean equals(Object o) {
     if (!(o instanceof HomogenousHypergraph that)) return false;
 
-    return verticesCount == that.verticesCount && edgeDimension == that.edgeDimension && edges.equals(that.edges);
+    return verticesCount == that.verticesCount && edgeDimension == that.edgeDimension &&
+        HyperEdgeSet.equal(edges, that.edges);
   }
 
   @Override
   public int hashCode() {
     int result = verticesCount;
     result = 31 * result + edgeDimension;
-    result = 31 * result + edges.hashCode();
+    result = 31 * result + HyperEdgeSet.hash(edges);
     return result;
   }
 }
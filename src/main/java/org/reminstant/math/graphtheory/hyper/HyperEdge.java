@@ -2,7 +2,6 @@ package org.reminstant.math.graphtheory.hyper;
 
 import org.reminstant.math.graphtheory.EdgeStructure;
 import org.reminstant.utils.ArrayUtils;
-import org.reminstant.math.Combinatorics;
 
 import java.util.Arrays;
 import java.util.Iterator;
@@ -23,18 +22,35 @@ public class HyperEdge implements EdgeStructure {
   }
 
 
+  private HyperEdge(int[] sortedVertices, int from, int to) {
+    edgeVertices = Arrays.copyOfRange(sortedVertices, from, to);
+  }
+
   public static HyperEdge of(int... vertices) {
     return new HyperEdge(vertices);
   }
 
-  // TODO: external indexator
-  static HyperEdge ofEdgeIndex(int edgeIndex, int verticesCount, int edgeDimension) {
-    return new HyperEdge(Combinatorics
-        .getCombinationByOrdinal(verticesCount, edgeDimension, edgeIndex));
+  // the vertices must already be ascending and distinct, they are copied without validation
+  static HyperEdge ofSortedTrusted(int[] sortedVertices) {
+    return new HyperEdge(sortedVertices, 0, sortedVertices.length);
+  }
+
+  static HyperEdge ofSortedTrusted(int[] sortedVertices, int from, int to) {
+    return new HyperEdge(sortedVertices, from, to);
+  }
+
+  static HyperEdge ofEdgeIndex(long edgeIndex, int verticesCount, int edgeDimension) {
+    int[] vertices = new int[edgeDimension];
+    HyperEdgeIndexer.of(verticesCount, edgeDimension).getEdgeVertices(edgeIndex, vertices, 0);
+    return ofSortedTrusted(vertices);
   }
 
   int getEdgeIndex(int verticesCount) {
-    return Combinatorics.getCombinationOrdinal(verticesCount, dimension(), edgeVertices).intValueExact();
+    return Math.toIntExact(getLongEdgeIndex(verticesCount));
+  }
+
+  long getLongEdgeIndex(int verticesCount) {
+    return HyperEdgeIndexer.of(verticesCount, dimension()).getEdgeIndex(edgeVertices, 0);
   }
 
 
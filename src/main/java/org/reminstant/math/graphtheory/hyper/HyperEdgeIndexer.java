@@ -0,0 +1,110 @@
+package org.reminstant.math.graphtheory.hyper;
+
+import org.reminstant.Validator;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Lexicographic ranking of k-element vertex sets of an n-vertex hypergraph (same order as
+// Combinatorics.getCombinationOrdinal) over a cached long Pascal table, without allocations
+public final class HyperEdgeIndexer {
+
+  private static final Map<Long, HyperEdgeIndexer> INDEXERS = new ConcurrentHashMap<>();
+
+  private final int verticesCount;
+  private final int edgeDimension;
+  private final long edgeCount;
+  // binomials[m][j] = C(m, j) for m <= verticesCount, j <= edgeDimension, saturated at Long.MAX_VALUE
+  private final long[][] binomials;
+
+  private HyperEdgeIndexer(int verticesCount, int edgeDimension) {
+    this.verticesCount = verticesCount;
+    this.edgeDimension = edgeDimension;
+
+    this.binomials = new long[verticesCount + 1][edgeDimension + 1];
+    for (int m = 0; m <= verticesCount; ++m) {
+      binomials[m][0] = 1;
+      for (int j = 1; j <= Math.min(m, edgeDimension); ++j) {
+        long sum = binomials[m - 1][j - 1] + binomials[m - 1][j];
+        binomials[m][j] = sum < 0 ? Long.MAX_VALUE : sum;
+      }
+    }
+
+    this.edgeCount = binomials[verticesCount][edgeDimension];
+    if (edgeCount == Long.MAX_VALUE) {
+      throw new IllegalArgumentException("C(%d, %d) does not fit into long".formatted(verticesCount, edgeDimension));
+    }
+  }
+
+  public static HyperEdgeIndexer of(int verticesCount, int edgeDimension) {
+    Validator.requireNonLess(verticesCount, 0, "verticesCount");
+    Validator.requireNonLess(edgeDimension, 0, "edgeDimension");
+
+    long key = (long) verticesCount << Integer.SIZE | edgeDimension;
+    return INDEXERS.computeIfAbsent(key, k -> new HyperEdgeIndexer(verticesCount, edgeDimension));
+  }
+
+  public int getVerticesCount() {
+    return verticesCount;
+  }
+
+  public int getEdgeDimension() {
+    return edgeDimension;
+  }
+
+  public long getEdgeCount() {
+    return edgeCount;
+  }
+
+  // C(m, j) for m <= verticesCount, j <= edgeDimension
+  public long binomial(int m, int j) {
+    return j > m ? 0 : binomials[m][j];
+  }
+
+  // vertices[offset, offset + edgeDimension) must be strictly ascending
+  public long getEdgeIndex(int[] vertices, int offset) {
+    Objects.checkFromIndexSize(offset, edgeDimension, vertices.length);
+
+    long reverseIndex = 0;
+    int previous = -1;
+    for (int i = 0; i < edgeDimension; ++i) {
+      int vertex = vertices[offset + i];
+      if (vertex <= previous || vertex >= verticesCount) {
+        throw new IllegalArgumentException("%s is not a %d-combination from a %d-element set".formatted(
+            Arrays.toString(Arrays.copyOfRange(vertices, offset, offset + edgeDimension)),
+            edgeDimension, verticesCount));
+      }
+      reverseIndex += binomial(verticesCount - vertex - 1, edgeDimension - i);
+      previous = vertex;
+    }
+    return edgeCount - 1 - reverseIndex;
+  }
+
+  // writes the ascending vertices of the edge into vertices[offset, offset + edgeDimension),
+  // decoding the reverse index as a combinadic: sum of C(n - 1 - v_i, k - i), one binary search per vertex
+  public void getEdgeVertices(long edgeIndex, int[] vertices, int offset) {
+    Objects.checkIndex(edgeIndex, edgeCount);
+    Objects.checkFromIndexSize(offset, edgeDimension, vertices.length);
+
+    long reverseIndex = edgeCount - 1 - edgeIndex;
+    int upper = verticesCount;
+    for (int i = 0; i < edgeDimension; ++i) {
+      int j = edgeDimension - i;
+      int low = j - 1;
+      int high = upper - 1;
+      while (low < high) {
+        int middle = (low + high + 1) >>> 1;
+        if (binomials[middle][j] <= reverseIndex) {
+          low = middle;
+        } else {
+          high = middle - 1;
+        }
+      }
+      vertices[offset + i] = verticesCount - 1 - low;
+      reverseIndex -= binomials[low][j];
+      upper = low;
+    }
+  }
+}
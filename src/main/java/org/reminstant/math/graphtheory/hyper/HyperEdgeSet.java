@@ -0,0 +1,255 @@
+package org.reminstant.math.graphtheory.hyper;
+
+import java.util.BitSet;
+import java.util.stream.LongStream;
+
+// Set of edge indices of a hypergraph. Three backends are switched by estimated memory:
+// a sorted long[] for sparse sets, a roaring-style bitmap once edges cluster into shared
+// 2^16 ranges, and a plain BitSet once it gets cheaper (only while indices fit into int)
+interface HyperEdgeSet {
+
+  int SORTED_MAX_CARDINALITY = 1 << 14;
+
+  long cardinality();
+
+  boolean contains(long edgeIndex);
+
+  // returns false if the edge index is already present
+  boolean add(long edgeIndex);
+
+  // the smallest edge index not less than fromIndex, or -1
+  long next(long fromIndex);
+
+  long estimatedByteSize();
+
+  HyperEdgeSet copy();
+
+
+
+  static HyperEdgeSet create(long edgeMaxCount) {
+    return adapt(new SortedHyperEdgeSet(), edgeMaxCount);
+  }
+
+  static HyperEdgeSet ofBitSet(BitSet bits, long edgeMaxCount) {
+    HyperEdgeSet edges = create(edgeMaxCount);
+    for (int i = bits.nextSetBit(0); i >= 0 && i < edgeMaxCount; i = bits.nextSetBit(i + 1)) {
+      edges.add(i);
+      edges = adapt(edges, edgeMaxCount);
+    }
+    return edges;
+  }
+
+  // sortedEdgeIndices must be strictly ascending and is owned by the set afterwards
+  static HyperEdgeSet ofSorted(long[] sortedEdgeIndices, long edgeMaxCount) {
+    return adapt(new SortedHyperEdgeSet(sortedEdgeIndices), edgeMaxCount);
+  }
+
+  // Returns the set itself or a copy in a cheaper backend. Edge sets only grow, so the dense
+  // bound is checked on every call, while a large sorted set is compared with its roaring copy
+  // only when its cardinality reaches a power of two, keeping the checks amortized O(1)
+  static HyperEdgeSet adapt(HyperEdgeSet edges, long edgeMaxCount) {
+    if (edges instanceof DenseHyperEdgeSet) {
+      return edges;
+    }
+
+    long cardinality = edges.cardinality();
+    if (edges instanceof SortedHyperEdgeSet && cardinality >= SORTED_MAX_CARDINALITY &&
+        Long.bitCount(cardinality) == 1) {
+      HyperEdgeSet roaringEdges = copyInto(edges, new RoaringHyperEdgeSet());
+      if (roaringEdges.estimatedByteSize() < edges.estimatedByteSize()) {
+        edges = roaringEdges;
+      }
+    }
+
+    if (edges.estimatedByteSize() >= DenseHyperEdgeSet.estimateByteSize(edgeMaxCount)) {
+      return copyInto(edges, new DenseHyperEdgeSet(Math.toIntExact(edgeMaxCount)));
+    }
+    return edges;
+  }
+
+
+
+  static HyperEdgeSet addAll(HyperEdgeSet target, HyperEdgeSet source, long edgeMaxCount) {
+    if (target instanceof DenseHyperEdgeSet denseTarget && source instanceof DenseHyperEdgeSet denseSource) {
+      denseTarget.setUnion(denseTarget, denseSource);
+      return target;
+    }
+    for (long i = source.next(0); i >= 0; i = source.next(i + 1)) {
+      target.add(i);
+      target = adapt(target, edgeMaxCount);
+    }
+    return target;
+  }
+
+  static boolean containsAll(HyperEdgeSet edges, HyperEdgeSet other) {
+    if (other.cardinality() > edges.cardinality()) {
+      return false;
+    }
+    if (edges instanceof DenseHyperEdgeSet denseEdges && other instanceof DenseHyperEdgeSet denseOther) {
+      return denseEdges.containsAll(denseOther);
+    }
+    for (long i = other.next(0); i >= 0; i = other.next(i + 1)) {
+      if (!edges.contains(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  static boolean intersects(HyperEdgeSet edges, HyperEdgeSet other) {
+    if (edges instanceof DenseHyperEdgeSet denseEdges && other instanceof DenseHyperEdgeSet denseOther) {
+      return denseEdges.intersects(denseOther);
+    }
+    return nextCommon(edges, other, 0) >= 0;
+  }
+
+  static long intersectionCount(HyperEdgeSet edges, HyperEdgeSet other) {
+    if (edges instanceof DenseHyperEdgeSet denseEdges && other instanceof DenseHyperEdgeSet denseOther) {
+      return denseEdges.intersectionCount(denseOther);
+    }
+    long count = 0;
+    for (long i = nextCommon(edges, other, 0); i >= 0; i = nextCommon(edges, other, i + 1)) {
+      count++;
+    }
+    return count;
+  }
+
+  // The operations below return the result held in place of target, which is overwritten.
+  // A dense target is reused (word by word when the operands are dense too), so a target of
+  // the same backend never allocates. Either operand may be the target itself
+
+  static HyperEdgeSet union(HyperEdgeSet a, HyperEdgeSet b, HyperEdgeSet target, long edgeMaxCount) {
+    if (target instanceof DenseHyperEdgeSet denseTarget &&
+        a instanceof DenseHyperEdgeSet denseA && b instanceof DenseHyperEdgeSet denseB) {
+      denseTarget.setUnion(denseA, denseB);
+      return target;
+    }
+    if (target == a || target == b) {
+      return addAll(target, target == a ? b : a, edgeMaxCount);
+    }
+    HyperEdgeSet result = target instanceof DenseHyperEdgeSet denseTarget
+        ? addAll(clear(denseTarget), a, edgeMaxCount)
+        : a.copy();
+    return addAll(result, b, edgeMaxCount);
+  }
+
+  static HyperEdgeSet intersection(HyperEdgeSet a, HyperEdgeSet b, HyperEdgeSet target, long edgeMaxCount) {
+    if (target instanceof DenseHyperEdgeSet denseTarget &&
+        a instanceof DenseHyperEdgeSet denseA && b instanceof DenseHyperEdgeSet denseB) {
+      denseTarget.setIntersection(denseA, denseB);
+      return target;
+    }
+    HyperEdgeSet result = newResult(a, b, target);
+    for (long i = nextCommon(a, b, 0); i >= 0; i = nextCommon(a, b, i + 1)) {
+      result.add(i);
+      result = adapt(result, edgeMaxCount);
+    }
+    return result;
+  }
+
+  static HyperEdgeSet difference(HyperEdgeSet a, HyperEdgeSet b, HyperEdgeSet target, long edgeMaxCount) {
+    if (target instanceof DenseHyperEdgeSet denseTarget &&
+        a instanceof DenseHyperEdgeSet denseA && b instanceof DenseHyperEdgeSet denseB) {
+      denseTarget.setDifference(denseA, denseB);
+      return target;
+    }
+    HyperEdgeSet result = newResult(a, b, target);
+    for (long i = a.next(0); i >= 0; i = a.next(i + 1)) {
+      if (!b.contains(i)) {
+        result.add(i);
+        result = adapt(result, edgeMaxCount);
+      }
+    }
+    return result;
+  }
+
+  // the complement is always dense, so edge indices must fit into int
+  static HyperEdgeSet complement(HyperEdgeSet a, HyperEdgeSet target, long edgeMaxCount) {
+    if (edgeMaxCount > Integer.MAX_VALUE) {
+      throw new UnsupportedOperationException("Complement of %d edges does not fit into a bitmap".formatted(edgeMaxCount));
+    }
+    if (a instanceof DenseHyperEdgeSet denseA) {
+      DenseHyperEdgeSet result = target instanceof DenseHyperEdgeSet denseTarget
+          ? denseTarget
+          : new DenseHyperEdgeSet((int) edgeMaxCount);
+      result.setComplement(denseA);
+      return result;
+    }
+    DenseHyperEdgeSet result = target instanceof DenseHyperEdgeSet denseTarget && target != a
+        ? clear(denseTarget)
+        : new DenseHyperEdgeSet((int) edgeMaxCount);
+    copyInto(a, result);
+    result.setComplement(result);
+    return result;
+  }
+
+  // equality and hash depend on the edge indices only, not on the backend
+  static boolean equal(HyperEdgeSet edges, HyperEdgeSet other) {
+    if (edges.cardinality() != other.cardinality()) {
+      return false;
+    }
+    long i = edges.next(0);
+    long j = other.next(0);
+    while (i >= 0 && i == j) {
+      i = edges.next(i + 1);
+      j = other.next(j + 1);
+    }
+    return i == j;
+  }
+
+  static int hash(HyperEdgeSet edges) {
+    int result = 1;
+    for (long i = edges.next(0); i >= 0; i = edges.next(i + 1)) {
+      result = 31 * result + Long.hashCode(i);
+    }
+    return result;
+  }
+
+  static LongStream stream(HyperEdgeSet edges) {
+    return LongStream.iterate(edges.next(0), i -> i >= 0, i -> edges.next(i + 1));
+  }
+
+  static BitSet toBitSet(HyperEdgeSet edges) {
+    BitSet bits = new BitSet();
+    for (long i = edges.next(0); i >= 0; i = edges.next(i + 1)) {
+      if (i > Integer.MAX_VALUE) {
+        throw new UnsupportedOperationException("Edge index %d does not fit into BitSet".formatted(i));
+      }
+      bits.set((int) i);
+    }
+    return bits;
+  }
+
+  // the smallest index not less than fromIndex present in both sets, or -1; the sets leapfrog each other
+  private static long nextCommon(HyperEdgeSet edges, HyperEdgeSet other, long fromIndex) {
+    long i = edges.next(fromIndex);
+    long j = i < 0 ? -1 : other.next(i);
+    while (i >= 0 && j >= 0 && i != j) {
+      if (i < j) {
+        i = edges.next(j);
+      } else {
+        j = other.next(i);
+      }
+    }
+    return i >= 0 && j >= 0 ? i : -1;
+  }
+
+  // results are produced in ascending order, which a sorted set appends without a search
+  private static HyperEdgeSet newResult(HyperEdgeSet a, HyperEdgeSet b, HyperEdgeSet target) {
+    return target instanceof DenseHyperEdgeSet denseTarget && target != a && target != b
+        ? clear(denseTarget)
+        : new SortedHyperEdgeSet();
+  }
+
+  private static DenseHyperEdgeSet clear(DenseHyperEdgeSet edges) {
+    edges.clear();
+    return edges;
+  }
+
+  private static HyperEdgeSet copyInto(HyperEdgeSet edges, HyperEdgeSet target) {
+    for (long i = edges.next(0); i >= 0; i = edges.next(i + 1)) {
+      target.add(i);
+    }
+    return target;
+  }
+}
@@ -29,6 +29,8 @@ public class HyperTreeGenerator implements Generator<HomogenousHyperTree> {
   @Override
   public HomogenousHyperTree next() {
     BigInteger ordinal = ordinalGenerator.next();
-    return factory.byOrdinal(ordinal).toTree();
+    return factory.hasLongOrdinals()
+        ? factory.byOrdinal(ordinal.longValue()).toTree()
+        : factory.byOrdinal(ordinal).toTree();
   }
 }
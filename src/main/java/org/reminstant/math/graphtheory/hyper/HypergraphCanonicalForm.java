@@ -0,0 +1,272 @@
+package org.reminstant.math.graphtheory.hyper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+// Canonical labeling of a hypergraph by individualization-refinement.
+// Vertex colours are refined by degree and by the colour multisets of incident edges until stable,
+// then a vertex of the first smallest non-singleton cell is individualized and the search recurses.
+// Every discrete leaf yields a certificate (ascending edge indices under that labeling), the greatest one wins.
+// Leaves with equal certificates give automorphisms, which prune children lying in an explored orbit
+final class HypergraphCanonicalForm {
+
+  private final int verticesCount;
+  private final int edgeDimension;
+  private final int edgeCount;
+  private final HyperEdgeIndexer indexer;
+  private final int[] edgeVertices;
+  private final int[] incidenceOffsets;
+  private final int[] incidentEdges;
+
+  private final List<int[]> automorphisms;
+  private int[] firstSequence;
+  private long[] firstCertificate;
+  private int[] firstLabeling;
+  private long[] bestCertificate;
+  private int[] bestLabeling;
+
+  private HypergraphCanonicalForm(HyperEdgeSet edges, int verticesCount, int edgeDimension) {
+    this.verticesCount = verticesCount;
+    this.edgeDimension = edgeDimension;
+    this.edgeCount = Math.toIntExact(edges.cardinality());
+    this.indexer = HyperEdgeIndexer.of(verticesCount, edgeDimension);
+    this.edgeVertices = new int[edgeCount * edgeDimension];
+    this.incidenceOffsets = new int[verticesCount + 1];
+
+    EdgeCursor cursor = new EdgeCursor(edges, verticesCount, edgeDimension);
+    for (int edgeOffset = 0; cursor.next(); edgeOffset += edgeDimension) {
+      System.arraycopy(cursor.vertices(), 0, edgeVertices, edgeOffset, edgeDimension);
+      for (int vertex : cursor.vertices()) {
+        incidenceOffsets[vertex + 1]++;
+      }
+    }
+    for (int vertex = 0; vertex < verticesCount; ++vertex) {
+      incidenceOffsets[vertex + 1] += incidenceOffsets[vertex];
+    }
+    this.incidentEdges = new int[edgeVertices.length];
+    int[] incidenceCursors = Arrays.copyOf(incidenceOffsets, verticesCount);
+    for (int i = 0; i < edgeVertices.length; ++i) {
+      incidentEdges[incidenceCursors[edgeVertices[i]]++] = i / edgeDimension;
+    }
+
+    this.automorphisms = new ArrayList<>();
+  }
+
+  // labeling[v] is the canonical position of vertex v, certificate is the edge set relabeled by it
+  record Result(int[] labeling, HyperEdgeSet certificate) {
+  }
+
+  static Result of(HyperEdgeSet edges, int verticesCount, int edgeDimension) {
+    HypergraphCanonicalForm form = new HypergraphCanonicalForm(edges, verticesCount, edgeDimension);
+    int[] colors = new int[verticesCount];
+    int colorCount = form.refine(colors, verticesCount == 0 ? 0 : 1);
+    form.search(colors, colorCount, new int[verticesCount], 0);
+
+    HyperEdgeSet certificate = HyperEdgeSet.ofSorted(form.bestCertificate, form.indexer.getEdgeCount());
+    return new Result(form.bestLabeling, certificate);
+  }
+
+
+
+  // returns the depth the search has to unwind to
+  private int search(int[] colors, int colorCount, int[] sequence, int depth) {
+    if (colorCount == verticesCount) {
+      return processLeaf(colors, sequence, depth);
+    }
+
+    int targetColor = findTargetCell(colors, colorCount);
+    int[] explored = new int[verticesCount];
+    int exploredCount = 0;
+    for (int vertex = 0; vertex < verticesCount; ++vertex) {
+      if (colors[vertex] != targetColor || isInExploredOrbit(vertex, explored, exploredCount, sequence, depth)) {
+        continue;
+      }
+      explored[exploredCount++] = vertex;
+
+      int[] childColors = individualize(colors, vertex);
+      int childColorCount = refine(childColors, colorCount + 1);
+      sequence[depth] = vertex;
+      int unwindDepth = search(childColors, childColorCount, sequence, depth + 1);
+      if (unwindDepth < depth) {
+        return unwindDepth;
+      }
+    }
+    return depth;
+  }
+
+  private int processLeaf(int[] labeling, int[] sequence, int depth) {
+    long[] certificate = computeCertificate(labeling);
+    if (firstCertificate == null) {
+      firstSequence = Arrays.copyOf(sequence, depth);
+      firstCertificate = certificate;
+      firstLabeling = labeling;
+      bestCertificate = certificate;
+      bestLabeling = labeling;
+      return depth;
+    }
+
+    if (Arrays.equals(certificate, firstCertificate)) {
+      automorphisms.add(composeAutomorphism(firstLabeling, labeling));
+      // the whole subtree below the divergence from the first path is an image of an explored one
+      int divergenceDepth = 0;
+      while (sequence[divergenceDepth] == firstSequence[divergenceDepth]) {
+        divergenceDepth++;
+      }
+      return divergenceDepth;
+    }
+
+    int comparison = Arrays.compare(certificate, bestCertificate);
+    if (comparison == 0) {
+      automorphisms.add(composeAutomorphism(bestLabeling, labeling));
+    } else if (comparison > 0) {
+      bestCertificate = certificate;
+      bestLabeling = labeling;
+    }
+    return depth;
+  }
+
+  // maps the vertex at each position of the known leaf onto the vertex at the same position of the new one
+  private int[] composeAutomorphism(int[] knownLabeling, int[] labeling) {
+    int[] inverse = new int[verticesCount];
+    for (int vertex = 0; vertex < verticesCount; ++vertex) {
+      inverse[labeling[vertex]] = vertex;
+    }
+    int[] automorphism = new int[verticesCount];
+    for (int vertex = 0; vertex < verticesCount; ++vertex) {
+      automorphism[vertex] = inverse[knownLabeling[vertex]];
+    }
+    return automorphism;
+  }
+
+  private long[] computeCertificate(int[] labeling) {
+    long[] certificate = new long[edgeCount];
+    int[] mappedVertices = new int[edgeDimension];
+    for (int edge = 0; edge < edgeCount; ++edge) {
+      for (int i = 0; i < edgeDimension; ++i) {
+        mappedVertices[i] = labeling[edgeVertices[edge * edgeDimension + i]];
+      }
+      Arrays.sort(mappedVertices);
+      certificate[edge] = indexer.getEdgeIndex(mappedVertices, 0);
+    }
+    Arrays.sort(certificate);
+    return certificate;
+  }
+
+  // only automorphisms fixing the individualized vertices pointwise map this node onto itself
+  private boolean isInExploredOrbit(int vertex, int[] explored, int exploredCount, int[] sequence, int depth) {
+    if (exploredCount == 0 || automorphisms.isEmpty()) {
+      return false;
+    }
+
+    int[] parents = new int[verticesCount];
+    Arrays.setAll(parents, i -> i);
+    for (int[] automorphism : automorphisms) {
+      boolean fixesSequence = true;
+      for (int i = 0; i < depth && fixesSequence; ++i) {
+        fixesSequence = automorphism[sequence[i]] == sequence[i];
+      }
+      if (fixesSequence) {
+        for (int v = 0; v < verticesCount; ++v) {
+          parents[findRoot(parents, v)] = findRoot(parents, automorphism[v]);
+        }
+      }
+    }
+
+    int root = findRoot(parents, vertex);
+    for (int i = 0; i < exploredCount; ++i) {
+      if (findRoot(parents, explored[i]) == root) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static int findRoot(int[] parents, int vertex) {
+    while (parents[vertex] != vertex) {
+      parents[vertex] = parents[parents[vertex]];
+      vertex = parents[vertex];
+    }
+    return vertex;
+  }
+
+  private int findTargetCell(int[] colors, int colorCount) {
+    int[] cellSizes = new int[colorCount];
+    for (int color : colors) {
+      cellSizes[color]++;
+    }
+    int targetColor = -1;
+    for (int color = 0; color < colorCount; ++color) {
+      if (cellSizes[color] > 1 && (targetColor == -1 || cellSizes[color] < cellSizes[targetColor])) {
+        targetColor = color;
+      }
+    }
+    return targetColor;
+  }
+
+  // the vertex keeps the colour of its cell, the rest of the cell and every following cell shift by one
+  private static int[] individualize(int[] colors, int vertex) {
+    int[] childColors = new int[colors.length];
+    int vertexColor = colors[vertex];
+    for (int v = 0; v < colors.length; ++v) {
+      childColors[v] = colors[v] > vertexColor || (colors[v] == vertexColor && v != vertex)
+          ? colors[v] + 1
+          : colors[v];
+    }
+    return childColors;
+  }
+
+  // Splits colour classes (ranks 0..colorCount-1, kept in order) by the sorted types of incident edges,
+  // where the type of an edge is the rank of its sorted vertex colours. Returns the stable colour count
+  private int refine(int[] colors, int colorCount) {
+    int[][] edgeColors = new int[edgeCount][edgeDimension];
+    Integer[] edgeOrder = new Integer[edgeCount];
+    int[] edgeTypes = new int[edgeCount];
+    int[][] signatures = new int[verticesCount][];
+    Integer[] vertexOrder = new Integer[verticesCount];
+
+    while (colorCount < verticesCount) {
+      for (int edge = 0; edge < edgeCount; ++edge) {
+        for (int i = 0; i < edgeDimension; ++i) {
+          edgeColors[edge][i] = colors[edgeVertices[edge * edgeDimension + i]];
+        }
+        Arrays.sort(edgeColors[edge]);
+        edgeOrder[edge] = edge;
+      }
+      Arrays.sort(edgeOrder, Comparator.comparing(edge -> edgeColors[edge], Arrays::compare));
+      for (int i = 0; i < edgeCount; ++i) {
+        boolean sameType = i > 0 && Arrays.equals(edgeColors[edgeOrder[i]], edgeColors[edgeOrder[i - 1]]);
+        edgeTypes[edgeOrder[i]] = i == 0 ? 0 : edgeTypes[edgeOrder[i - 1]] + (sameType ? 0 : 1);
+      }
+
+      for (int vertex = 0; vertex < verticesCount; ++vertex) {
+        int[] signature = new int[incidenceOffsets[vertex + 1] - incidenceOffsets[vertex]];
+        for (int i = 0; i < signature.length; ++i) {
+          signature[i] = edgeTypes[incidentEdges[incidenceOffsets[vertex] + i]];
+        }
+        Arrays.sort(signature);
+        signatures[vertex] = signature;
+        vertexOrder[vertex] = vertex;
+      }
+      Comparator<Integer> vertexComparator = Comparator
+          .<Integer>comparingInt(vertex -> colors[vertex])
+          .thenComparingInt(vertex -> signatures[vertex].length)
+          .thenComparing(vertex -> signatures[vertex], Arrays::compare);
+      Arrays.sort(vertexOrder, vertexComparator);
+
+      int[] refinedColors = new int[verticesCount];
+      for (int i = 1; i < verticesCount; ++i) {
+        boolean sameColor = vertexComparator.compare(vertexOrder[i - 1], vertexOrder[i]) == 0;
+        refinedColors[vertexOrder[i]] = refinedColors[vertexOrder[i - 1]] + (sameColor ? 0 : 1);
+      }
+      int refinedColorCount = refinedColors[vertexOrder[verticesCount - 1]] + 1;
+      System.arraycopy(refinedColors, 0, colors, 0, verticesCount);
+      if (refinedColorCount == colorCount) {
+        break;
+      }
+      colorCount = refinedColorCount;
+    }
+    return colorCount;
+  }
+}
@@ -0,0 +1,298 @@
+package org.reminstant.math.graphtheory.hyper;
+
+import org.reminstant.Validator;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+
+// Versioned binary format of HomogenousHypergraph (big-endian):
+//   int magic, byte version, byte encoding, int verticesCount, int edgeDimension,
+//   long edgeCount, long payloadByteSize, payload
+// The payload holds either the edge bitset words up to the last edge or the ascending edge indices
+// as varint gaps (first index + 1, then differences), whichever is smaller
+public final class HypergraphCodec {
+
+  public static final int MAGIC = 0x48484B47;
+  public static final byte VERSION = 1;
+  public static final int HEADER_BYTE_SIZE = 30;
+  // decoded shapes are bounded by the (n + 1) * (k + 1) longs of the HyperEdgeIndexer table they need,
+  // so a crafted header can not make the decoder allocate (and cache) an arbitrarily large indexer
+  public static final long MAX_DECODED_INDEXER_TABLE_SIZE = 1L << 22;
+
+  private static final byte BITSET_WORDS_ENCODING = 0;
+  private static final byte DELTA_VARINT_ENCODING = 1;
+  private static final int MAX_VAR_LONG_BYTE_SIZE = 10;
+
+  private HypergraphCodec() {
+
+  }
+
+  public static long getEncodedByteSize(HomogenousHypergraph graph) {
+    Validator.requireNonNull(graph, "graph");
+    return HEADER_BYTE_SIZE + Math.min(getWordsByteSize(graph.getEdgeSet()), getDeltaByteSize(graph.getEdgeSet()));
+  }
+
+  public static void write(HomogenousHypergraph graph, DataOutput out) throws IOException {
+    Validator.requireNonNull(out, "out");
+    ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(getEncodedByteSize(graph)));
+    write(graph, buffer);
+    out.write(buffer.array());
+  }
+
+  // Big-endian whatever the order of the buffer. Throws BufferOverflowException (leaving the position as is)
+  // if the buffer has less than getEncodedByteSize(graph) remaining
+  public static void write(HomogenousHypergraph graph, ByteBuffer buffer) {
+    Validator.requireNonNull(graph, "graph");
+    Validator.requireNonNull(buffer, "buffer");
+
+    ByteBuffer out = buffer.duplicate().order(ByteOrder.BIG_ENDIAN);
+    HyperEdgeSet edges = graph.getEdgeSet();
+    long wordsByteSize = getWordsByteSize(edges);
+    long deltaByteSize = getDeltaByteSize(edges);
+    boolean wordsEncoding = wordsByteSize <= deltaByteSize;
+
+    out.putInt(MAGIC)
+        .put(VERSION)
+        .put(wordsEncoding ? BITSET_WORDS_ENCODING : DELTA_VARINT_ENCODING)
+        .putInt(graph.getVerticesCount())
+        .putInt(graph.getEdgeDimension())
+        .putLong(edges.cardinality())
+        .putLong(wordsEncoding ? wordsByteSize : deltaByteSize);
+
+    if (wordsEncoding) {
+      long word = 0;
+      long wordIndex = 0;
+      for (long i = edges.next(0); i >= 0; i = edges.next(i + 1)) {
+        for (; wordIndex < i >>> 6; ++wordIndex) {
+          out.putLong(word);
+          word = 0;
+        }
+        word |= 1L << i;
+      }
+      if (edges.cardinality() > 0) {
+        out.putLong(word);
+      }
+    } else {
+      long previous = -1;
+      for (long i = edges.next(0); i >= 0; i = edges.next(i + 1)) {
+        putVarLong(out, i - previous);
+        previous = i;
+      }
+    }
+    buffer.position(out.position());
+  }
+
+  public static HomogenousHypergraph read(DataInput in) throws IOException {
+    Validator.requireNonNull(in, "in");
+
+    byte[] header = new byte[HEADER_BYTE_SIZE];
+    in.readFully(header);
+    long payloadByteSize = ByteBuffer.wrap(header).getLong(HEADER_BYTE_SIZE - Long.BYTES);
+    if (payloadByteSize < 0 || payloadByteSize > Integer.MAX_VALUE - HEADER_BYTE_SIZE) {
+      throw new IOException("Illegal hypergraph payload size " + payloadByteSize);
+    }
+
+    byte[] encoded = new byte[HEADER_BYTE_SIZE + (int) payloadByteSize];
+    System.arraycopy(header, 0, encoded, 0, HEADER_BYTE_SIZE);
+    in.readFully(encoded, HEADER_BYTE_SIZE, (int) payloadByteSize);
+    try {
+      return read(ByteBuffer.wrap(encoded));
+    } catch (IllegalArgumentException e) {
+      throw new IOException(e.getMessage(), e);
+    }
+  }
+
+  // Decodes straight from the buffer (a mapped one included, read big-endian whatever its order) and advances
+  // its position past the graph. Throws IllegalArgumentException on a malformed encoding, leaving the position as is
+  public static HomogenousHypergraph read(ByteBuffer buffer) {
+    Validator.requireNonNull(buffer, "buffer");
+    ByteBuffer in = buffer.duplicate().order(ByteOrder.BIG_ENDIAN);
+    if (in.remaining() < HEADER_BYTE_SIZE || in.getInt() != MAGIC) {
+      throw new IllegalArgumentException("Buffer does not contain an encoded hypergraph");
+    }
+    byte version = in.get();
+    if (version != VERSION) {
+      throw new IllegalArgumentException("Unsupported hypergraph encoding version " + version);
+    }
+
+    byte encoding = in.get();
+    int verticesCount = in.getInt();
+    int edgeDimension = in.getInt();
+    long edgeCount = in.getLong();
+    long payloadByteSize = in.getLong();
+    long edgeMaxCount = validateHeader(encoding, verticesCount, edgeDimension, edgeCount,
+        payloadByteSize, in.remaining());
+
+    ByteBuffer payload = in.slice(in.position(), (int) payloadByteSize);
+    in.position(in.position() + (int) payloadByteSize);
+
+    HyperEdgeSet edges = encoding == BITSET_WORDS_ENCODING
+        ? readWords(payload, edgeMaxCount)
+        : readDeltas(payload, edgeCount, edgeMaxCount);
+    if (edges.cardinality() != edgeCount) {
+      throw new IllegalArgumentException("Hypergraph edge count does not match the header");
+    }
+    HomogenousHypergraph graph = HomogenousHypergraph.ofEdgeSet(verticesCount, edgeDimension, edges);
+    buffer.position(in.position());
+    return graph;
+  }
+
+  // the file is mapped read-only and decoded without copying it to the heap first
+  public static HomogenousHypergraph read(Path file) throws IOException {
+    Validator.requireNonNull(file, "file");
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      return read(buffer);
+    } catch (IllegalArgumentException e) {
+      throw new IOException(e.getMessage(), e);
+    }
+  }
+
+
+
+  // Everything the payload is decoded against is checked before a HyperEdgeIndexer of the shape is requested
+  // (the indexers are cached for good). Returns the edge index bound C(verticesCount, edgeDimension)
+  private static long validateHeader(byte encoding, int verticesCount, int edgeDimension, long edgeCount,
+                                     long payloadByteSize, int remaining) {
+    if (verticesCount < 0 || edgeDimension < 2 ||
+        (verticesCount + 1L) * (edgeDimension + 1L) > MAX_DECODED_INDEXER_TABLE_SIZE) {
+      throw new IllegalArgumentException("Illegal hypergraph shape: %d vertices, edge dimension %d"
+          .formatted(verticesCount, edgeDimension));
+    }
+    long edgeMaxCount = binomial(verticesCount, edgeDimension);
+    if (edgeMaxCount < 0) {
+      throw new IllegalArgumentException("C(%d, %d) does not fit into long".formatted(verticesCount, edgeDimension));
+    }
+    if (edgeCount < 0 || edgeCount > edgeMaxCount) {
+      throw new IllegalArgumentException("Hypergraph edge count %d is out of range".formatted(edgeCount));
+    }
+    if (payloadByteSize < 0 || payloadByteSize > remaining) {
+      throw new IllegalArgumentException("Hypergraph payload is truncated");
+    }
+
+    boolean payloadFits = switch (encoding) {
+      case BITSET_WORDS_ENCODING -> payloadByteSize % Long.BYTES == 0 &&
+          payloadByteSize / Long.BYTES <= Math.ceilDiv(edgeMaxCount, Long.SIZE);
+      case DELTA_VARINT_ENCODING -> edgeCount <= payloadByteSize &&
+          payloadByteSize <= edgeCount * MAX_VAR_LONG_BYTE_SIZE;
+      default -> throw new IllegalArgumentException("Unknown hypergraph encoding " + encoding);
+    };
+    if (!payloadFits) {
+      throw new IllegalArgumentException("Hypergraph payload size %d does not match the header"
+          .formatted(payloadByteSize));
+    }
+    return edgeMaxCount;
+  }
+
+  // C(n, k) without the HyperEdgeIndexer cache, -1 if it does not fit into long (as the indexer would reject it)
+  private static long binomial(int n, int k) {
+    if (k > n) {
+      return 0;
+    }
+    k = Math.min(k, n - k);
+
+    // the partial results C(n - k + i, i) only grow, so once past long they stay there
+    BigInteger count = BigInteger.ONE;
+    BigInteger limit = BigInteger.valueOf(Long.MAX_VALUE);
+    for (int i = 1; i <= k; ++i) {
+      count = count.multiply(BigInteger.valueOf(n - k + i)).divide(BigInteger.valueOf(i));
+      if (count.compareTo(limit) >= 0) {
+        return -1;
+      }
+    }
+    return count.longValueExact();
+  }
+
+  private static HyperEdgeSet readWords(ByteBuffer payload, long edgeMaxCount) {
+    long[] words = new long[payload.remaining() / Long.BYTES];
+    payload.asLongBuffer().get(words);
+    BitSet bits = BitSet.valueOf(words);
+    if (bits.length() > edgeMaxCount) {
+      throw new IllegalArgumentException("Hypergraph edge index %d is out of range".formatted(bits.length() - 1));
+    }
+    return HyperEdgeSet.ofBitSet(bits, edgeMaxCount);
+  }
+
+  private static HyperEdgeSet readDeltas(ByteBuffer payload, long edgeCount, long edgeMaxCount) {
+    long[] edgeIndices = new long[(int) edgeCount];
+    long previous = -1;
+    for (int i = 0; i < edgeIndices.length; ++i) {
+      long gap = getVarLong(payload);
+      if (gap <= 0 || gap >= edgeMaxCount - previous) {
+        throw new IllegalArgumentException("Hypergraph edge index is out of range");
+      }
+      previous += gap;
+      edgeIndices[i] = previous;
+    }
+    if (payload.hasRemaining()) {
+      throw new IllegalArgumentException("Hypergraph payload has trailing bytes");
+    }
+    return HyperEdgeSet.ofSorted(edgeIndices, edgeMaxCount);
+  }
+
+  private static long getWordsByteSize(HyperEdgeSet edges) {
+    if (edges.cardinality() == 0) {
+      return 0;
+    }
+    long lastEdgeIndex = lastEdgeIndex(edges);
+    if (lastEdgeIndex >= Integer.MAX_VALUE) {
+      return Long.MAX_VALUE;
+    }
+    return ((lastEdgeIndex >>> 6) + 1) * Long.BYTES;
+  }
+
+  private static long getDeltaByteSize(HyperEdgeSet edges) {
+    long byteSize = 0;
+    long previous = -1;
+    for (long i = edges.next(0); i >= 0; i = edges.next(i + 1)) {
+      byteSize += getVarLongByteSize(i - previous);
+      previous = i;
+    }
+    return byteSize;
+  }
+
+  private static long lastEdgeIndex(HyperEdgeSet edges) {
+    long last = -1;
+    for (long i = edges.next(0); i >= 0; i = edges.next(i + 1)) {
+      last = i;
+    }
+    return last;
+  }
+
+  // unsigned LEB128
+  private static void putVarLong(ByteBuffer buffer, long value) {
+    while ((value & ~0x7FL) != 0) {
+      buffer.put((byte) (value & 0x7F | 0x80));
+      value >>>= 7;
+    }
+    buffer.put((byte) value);
+  }
+
+  private static long getVarLong(ByteBuffer buffer) {
+    long value = 0;
+    for (int shift = 0; shift < Long.SIZE; shift += 7) {
+      if (!buffer.hasRemaining()) {
+        throw new IllegalArgumentException("Hypergraph payload is truncated");
+      }
+      byte b = buffer.get();
+      value |= (long) (b & 0x7F) << shift;
+      if (b >= 0) {
+        return value;
+      }
+    }
+    throw new IllegalArgumentException("Malformed varint in hypergraph payload");
+  }
+
+  private static int getVarLongByteSize(long value) {
+    return Math.max(1, (Long.SIZE - Long.numberOfLeadingZeros(value) + 6) / 7);
+  }
+}
@@ -0,0 +1,186 @@
+package org.reminstant.math.graphtheory.hyper;
+
+import org.reminstant.Validator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+// Vertex degrees, pairwise co-degrees (the number of edges holding both vertices) and the degree histogram,
+// gathered in one walk over the edges. The parallel variant splits the edges into ranges holding equal numbers
+// of them (not equal spans of the edge index space, which sparse graphs fill unevenly), walks each with its own
+// cursor and sums the per-range matrices. Ranges are only as many as pay for their matrix: each one takes
+// at least as many co-degree increments as its matrix has cells
+public final class HypergraphDegreeStatistics {
+
+  public static final int MIN_PARALLEL_EDGE_COUNT = 1 << 14;
+
+  private final int verticesCount;
+  // row-major verticesCount x verticesCount, the diagonal holds the degrees
+  private final int[] coDegrees;
+  private final int[] degreeHistogram;
+
+  private HypergraphDegreeStatistics(int verticesCount, int[] coDegrees) {
+    this.verticesCount = verticesCount;
+    this.coDegrees = coDegrees;
+
+    // only the upper triangle is counted
+    int maxDegree = 0;
+    for (int u = 0; u < verticesCount; ++u) {
+      for (int v = u + 1; v < verticesCount; ++v) {
+        coDegrees[v * verticesCount + u] = coDegrees[u * verticesCount + v];
+      }
+      maxDegree = Math.max(maxDegree, coDegrees[u * verticesCount + u]);
+    }
+    this.degreeHistogram = new int[maxDegree + 1];
+    for (int v = 0; v < verticesCount; ++v) {
+      degreeHistogram[coDegrees[v * verticesCount + v]]++;
+    }
+  }
+
+  public static HypergraphDegreeStatistics of(HomogenousHypergraph graph) {
+    Validator.requireNonNull(graph, "graph");
+    int verticesCount = graph.getVerticesCount();
+    int[] coDegrees = new int[Math.multiplyExact(verticesCount, verticesCount)];
+    count(graph, 0, graph.getEdgeMaxCount(), coDegrees);
+    return new HypergraphDegreeStatistics(verticesCount, coDegrees);
+  }
+
+  // the graph must not be modified until the statistics are built
+  public static HypergraphDegreeStatistics of(HomogenousHypergraph graph, Executor executor) {
+    Validator.requireNonNull(graph, "graph");
+    Validator.requireNonNull(executor, "executor");
+
+    int parallelism = executor instanceof ForkJoinPool pool
+        ? pool.getParallelism()
+        : Runtime.getRuntime().availableProcessors();
+    int verticesCount = graph.getVerticesCount();
+    int edgeDimension = graph.getEdgeDimension();
+    long edgeCount = graph.getEdgeCount();
+    long matrixSize = (long) verticesCount * verticesCount;
+    long pairsPerEdge = (long) edgeDimension * (edgeDimension + 1) / 2;
+    long minRangeEdgeCount = Math.max(MIN_PARALLEL_EDGE_COUNT, matrixSize / pairsPerEdge);
+    int rangeCount = (int) Math.min(parallelism, edgeCount / minRangeEdgeCount);
+    if (rangeCount <= 1) {
+      return of(graph);
+    }
+
+    long[] rangeBounds = splitByEdgeCount(graph.getEdgeSet(), edgeCount, rangeCount, graph.getEdgeMaxCount());
+    List<CompletableFuture<int[]>> futures = new ArrayList<>();
+    for (int range = 0; range < rangeCount; ++range) {
+      long rangeFrom = rangeBounds[range];
+      long rangeTo = rangeBounds[range + 1];
+      futures.add(CompletableFuture.supplyAsync(() -> {
+        int[] coDegrees = new int[verticesCount * verticesCount];
+        count(graph, rangeFrom, rangeTo, coDegrees);
+        return coDegrees;
+      }, executor));
+    }
+
+    int[] coDegrees;
+    try {
+      coDegrees = futures.getFirst().join();
+      for (CompletableFuture<int[]> future : futures.subList(1, futures.size())) {
+        int[] rangeCoDegrees = future.join();
+        for (int i = 0; i < coDegrees.length; ++i) {
+          coDegrees[i] += rangeCoDegrees[i];
+        }
+      }
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw e;
+    }
+    return new HypergraphDegreeStatistics(verticesCount, coDegrees);
+  }
+
+  public int getVerticesCount() {
+    return verticesCount;
+  }
+
+  public int getDegree(int vertex) {
+    return coDegrees[checkVertex(vertex) * verticesCount + vertex];
+  }
+
+  public int[] getDegrees() {
+    int[] degrees = new int[verticesCount];
+    for (int v = 0; v < verticesCount; ++v) {
+      degrees[v] = coDegrees[v * verticesCount + v];
+    }
+    return degrees;
+  }
+
+  // for u == v the co-degree is the degree of the vertex
+  public int getCoDegree(int u, int v) {
+    return coDegrees[checkVertex(u) * verticesCount + checkVertex(v)];
+  }
+
+  public int[] getCoDegrees(int vertex) {
+    int from = checkVertex(vertex) * verticesCount;
+    return Arrays.copyOfRange(coDegrees, from, from + verticesCount);
+  }
+
+  // histogram[d] is the number of vertices of degree d, up to the maximal degree
+  public int[] getDegreeHistogram() {
+    return degreeHistogram.clone();
+  }
+
+  public int getMinDegree() {
+    int degree = 0;
+    while (degree < degreeHistogram.length - 1 && degreeHistogram[degree] == 0) {
+      degree++;
+    }
+    return degree;
+  }
+
+  public int getMaxDegree() {
+    return degreeHistogram.length - 1;
+  }
+
+
+
+  // bounds[r] is the edge index of the (edgeCount * r / rangeCount)-th edge, so range r = [bounds[r], bounds[r + 1])
+  // holds edgeCount / rangeCount edges give or take one
+  private static long[] splitByEdgeCount(HyperEdgeSet edges, long edgeCount, int rangeCount, long edgeMaxCount) {
+    long[] bounds = new long[rangeCount + 1];
+    bounds[rangeCount] = edgeMaxCount;
+
+    long edgeIndex = -1;
+    long ordinal = 0;
+    for (int range = 1; range < rangeCount; ++range) {
+      long boundOrdinal = edgeCount * range / rangeCount;
+      for (; ordinal <= boundOrdinal; ++ordinal) {
+        edgeIndex = edges.next(edgeIndex + 1);
+      }
+      bounds[range] = edgeIndex;
+    }
+    return bounds;
+  }
+
+  private static void count(HomogenousHypergraph graph, long fromIndex, long toIndex, int[] coDegrees) {
+    int verticesCount = graph.getVerticesCount();
+    int edgeDimension = graph.getEdgeDimension();
+    EdgeCursor cursor = new EdgeCursor(graph.getEdgeSet(), verticesCount, edgeDimension, fromIndex, toIndex);
+    while (cursor.next()) {
+      int[] vertices = cursor.vertices();
+      for (int i = 0; i < edgeDimension; ++i) {
+        int row = vertices[i] * verticesCount;
+        for (int j = i; j < edgeDimension; ++j) {
+          coDegrees[row + vertices[j]]++;
+        }
+      }
+    }
+  }
+
+  private int checkVertex(int vertex) {
+    if (vertex < 0 || vertex >= verticesCount) {
+      throw new IndexOutOfBoundsException("Vertex %d is out of bounds for %d vertices".formatted(vertex, verticesCount));
+    }
+    return vertex;
+  }
+}
@@ -0,0 +1,104 @@
+package org.reminstant.math.graphtheory.hyper;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+// Compressed (CSR) incidence of a hypergraph snapshot: every edge is unranked once,
+// edges incident to a vertex and its neighbours (ascending) are stored as contiguous int ranges
+final class HypergraphIncidenceIndex {
+
+  private final int edgeDimension;
+  private final int[] edgeVertices;
+  private final int[] incidenceOffsets;
+  private final int[] incidentEdges;
+  private final int[] adjacencyOffsets;
+  private final int[] adjacentVertices;
+
+  private HypergraphIncidenceIndex(int edgeDimension, int[] edgeVertices,
+                                   int[] incidenceOffsets, int[] incidentEdges,
+                                   int[] adjacencyOffsets, int[] adjacentVertices) {
+    this.edgeDimension = edgeDimension;
+    this.edgeVertices = edgeVertices;
+    this.incidenceOffsets = incidenceOffsets;
+    this.incidentEdges = incidentEdges;
+    this.adjacencyOffsets = adjacencyOffsets;
+    this.adjacentVertices = adjacentVertices;
+  }
+
+  static HypergraphIncidenceIndex of(HyperEdgeSet edges, int verticesCount, int edgeDimension) {
+    int edgeCount = Math.toIntExact(edges.cardinality());
+    int[] edgeVertices = new int[edgeCount * edgeDimension];
+    int[] incidenceOffsets = new int[verticesCount + 1];
+
+    EdgeCursor cursor = new EdgeCursor(edges, verticesCount, edgeDimension);
+    for (int edgeOffset = 0; cursor.next(); edgeOffset += edgeDimension) {
+      System.arraycopy(cursor.vertices(), 0, edgeVertices, edgeOffset, edgeDimension);
+      for (int vertex : cursor.vertices()) {
+        incidenceOffsets[vertex + 1]++;
+      }
+    }
+
+    for (int vertex = 0; vertex < verticesCount; ++vertex) {
+      incidenceOffsets[vertex + 1] += incidenceOffsets[vertex];
+    }
+
+    int[] incidentEdges = new int[edgeVertices.length];
+    int[] incidenceCursors = Arrays.copyOf(incidenceOffsets, verticesCount);
+    for (int i = 0; i < edgeVertices.length; ++i) {
+      incidentEdges[incidenceCursors[edgeVertices[i]]++] = i / edgeDimension;
+    }
+
+    // neighbours are deduplicated with a per-vertex stamp instead of a set
+    int[] adjacencyOffsets = new int[verticesCount + 1];
+    int[] stamps = new int[verticesCount];
+    int[] neighbours = new int[verticesCount];
+    int[][] adjacencyLists = new int[verticesCount][];
+    for (int vertex = 0; vertex < verticesCount; ++vertex) {
+      int neighbourCount = 0;
+      stamps[vertex] = vertex + 1;
+      for (int i = incidenceOffsets[vertex]; i < incidenceOffsets[vertex + 1]; ++i) {
+        int incidentEdgeOffset = incidentEdges[i] * edgeDimension;
+        for (int j = incidentEdgeOffset; j < incidentEdgeOffset + edgeDimension; ++j) {
+          int neighbour = edgeVertices[j];
+          if (stamps[neighbour] != vertex + 1) {
+            stamps[neighbour] = vertex + 1;
+            neighbours[neighbourCount++] = neighbour;
+          }
+        }
+      }
+      adjacencyLists[vertex] = Arrays.copyOf(neighbours, neighbourCount);
+      Arrays.sort(adjacencyLists[vertex]);
+      adjacencyOffsets[vertex + 1] = adjacencyOffsets[vertex] + neighbourCount;
+    }
+
+    int[] adjacentVertices = new int[adjacencyOffsets[verticesCount]];
+    for (int vertex = 0; vertex < verticesCount; ++vertex) {
+      System.arraycopy(adjacencyLists[vertex], 0, adjacentVertices, adjacencyOffsets[vertex],
+          adjacencyLists[vertex].length);
+    }
+
+    return new HypergraphIncidenceIndex(edgeDimension, edgeVertices,
+        incidenceOffsets, incidentEdges, adjacencyOffsets, adjacentVertices);
+  }
+
+  int getDegree(int vertex) {
+    return incidenceOffsets[vertex + 1] - incidenceOffsets[vertex];
+  }
+
+  IntStream getIncidentEdges(int vertex) {
+    return Arrays.stream(incidentEdges, incidenceOffsets[vertex], incidenceOffsets[vertex + 1]);
+  }
+
+  HyperEdge getEdge(int edge) {
+    int edgeOffset = edge * edgeDimension;
+    return HyperEdge.ofSortedTrusted(edgeVertices, edgeOffset, edgeOffset + edgeDimension);
+  }
+
+  int getAdjacentVertexCount(int vertex) {
+    return adjacencyOffsets[vertex + 1] - adjacencyOffsets[vertex];
+  }
+
+  IntStream getAdjacentVertices(int vertex) {
+    return Arrays.stream(adjacentVertices, adjacencyOffsets[vertex], adjacencyOffsets[vertex + 1]);
+  }
+}
@@ -0,0 +1,252 @@
+package org.reminstant.math.graphtheory.hyper;
+
+import org.reminstant.Validator;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+// Append-only store of hypergraph keys. Records are HypergraphCodec encodings laid one after another
+// in the data file, the index file next to it holds the long offset of every record.
+// Both files are read through read-only mappings, so reopening a store costs one index mapping
+// and nothing is decoded until a record is requested. Appends are made durable by force() or close(), records
+// lost to a crash before that are dropped on the next open. Not thread-safe
+public final class HypergraphKeyStore implements Closeable {
+
+  public static final String INDEX_FILE_SUFFIX = ".idx";
+
+  // the index is mapped whole, so it is limited by the size of a single mapping
+  public static final long MAX_RECORD_COUNT = Integer.MAX_VALUE / Long.BYTES;
+
+  static final long MAX_WINDOW_BYTE_SIZE = 1L << 30;
+
+  // offsets of records appended since the index was mapped are kept on the heap, the index is remapped
+  // when they outnumber the mapped ones (so remaps are logarithmic in the store size), but at least
+  // every MAX_APPENDED_OFFSET_COUNT appends
+  private static final int MIN_APPENDED_OFFSET_COUNT = 1 << 10;
+  private static final int MAX_APPENDED_OFFSET_COUNT = 1 << 20;
+
+  private final FileChannel dataChannel;
+  private final FileChannel indexChannel;
+  private long dataByteSize;
+  private long recordCount;
+
+  private LongBuffer offsets;
+  private long[] appendedOffsets;
+  private int appendedOffsetCount;
+  private MappedByteBuffer window;
+  private long windowOffset;
+  private ByteBuffer writeBuffer;
+
+  private HypergraphKeyStore(FileChannel dataChannel, FileChannel indexChannel) throws IOException {
+    this.dataChannel = dataChannel;
+    this.indexChannel = indexChannel;
+    this.writeBuffer = ByteBuffer.allocate(1 << 12);
+
+    // Index entries of an interrupted append are dropped from the end until the last one points at an intact
+    // record past the one before it, then the record tail and the index are cut there. Both files are read
+    // through the channels, nothing is mapped until they are truncated
+    long dataFileSize = dataChannel.size();
+    long count = Math.min(indexChannel.size() / Long.BYTES, MAX_RECORD_COUNT);
+    long lastRecordEnd = 0;
+    while (count > 0) {
+      long lastOffset = readLong(indexChannel, (count - 1) * Long.BYTES);
+      long previousOffset = count == 1 ? -1 : readLong(indexChannel, (count - 2) * Long.BYTES);
+      lastRecordEnd = lastOffset > previousOffset ? readRecordEnd(lastOffset, dataFileSize) : -1;
+      if (lastRecordEnd >= 0) {
+        break;
+      }
+      count--;
+    }
+    this.recordCount = count;
+    this.dataByteSize = count == 0 ? 0 : lastRecordEnd;
+
+    dataChannel.truncate(dataByteSize);
+    indexChannel.truncate(recordCount * Long.BYTES);
+    this.offsets = mapOffsets();
+    this.appendedOffsets = new long[MIN_APPENDED_OFFSET_COUNT];
+    this.appendedOffsetCount = 0;
+  }
+
+  // opens the store at the data file (and its INDEX_FILE_SUFFIX sibling), creating empty files if absent
+  public static HypergraphKeyStore open(Path dataFile) throws IOException {
+    Validator.requireNonNull(dataFile, "dataFile");
+    Path indexFile = dataFile.resolveSibling(dataFile.getFileName() + INDEX_FILE_SUFFIX);
+    FileChannel dataChannel = FileChannel.open(dataFile,
+        StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    try {
+      FileChannel indexChannel = FileChannel.open(indexFile,
+          StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+      try {
+        return new HypergraphKeyStore(dataChannel, indexChannel);
+      } catch (IOException | RuntimeException e) {
+        indexChannel.close();
+        throw e;
+      }
+    } catch (IOException | RuntimeException e) {
+      dataChannel.close();
+      throw e;
+    }
+  }
+
+  public long size() {
+    return recordCount;
+  }
+
+  public long getDataByteSize() {
+    return dataByteSize;
+  }
+
+  // returns the id of the appended key
+  public long append(HomogenousHypergraph graph) throws IOException {
+    Validator.requireNonNull(graph, "graph");
+    if (recordCount == MAX_RECORD_COUNT) {
+      throw new IllegalStateException("Key store is full");
+    }
+
+    int encodedByteSize = Math.toIntExact(HypergraphCodec.getEncodedByteSize(graph));
+    if (encodedByteSize > MAX_WINDOW_BYTE_SIZE) {
+      throw new IllegalArgumentException("Encoded graph is too big for the store");
+    }
+    if (writeBuffer.capacity() < encodedByteSize) {
+      writeBuffer = ByteBuffer.allocate(Math.max(encodedByteSize, 2 * writeBuffer.capacity()));
+    }
+    writeBuffer.clear();
+    HypergraphCodec.write(graph, writeBuffer);
+    writeFully(dataChannel, writeBuffer.flip(), dataByteSize);
+    writeFully(indexChannel, writeBuffer.clear().putLong(dataByteSize).flip(), recordCount * Long.BYTES);
+    addAppendedOffset(dataByteSize);
+    dataByteSize += encodedByteSize;
+    return recordCount++;
+  }
+
+  public HomogenousHypergraph get(long id) {
+    if (id < 0 || id >= recordCount) {
+      throw new IndexOutOfBoundsException("Key id %d is out of bounds for size %d".formatted(id, recordCount));
+    }
+    return HypergraphCodec.read(getRecord(id));
+  }
+
+  // decodes the keys in id order, the window is remapped only when a record crosses its end
+  public void forEach(Consumer<? super HomogenousHypergraph> action) {
+    Validator.requireNonNull(action, "action");
+    for (long id = 0; id < recordCount; ++id) {
+      action.accept(HypergraphCodec.read(getRecord(id)));
+    }
+  }
+
+  public void force() throws IOException {
+    dataChannel.force(false);
+    indexChannel.force(false);
+  }
+
+  @Override
+  public void close() throws IOException {
+    offsets = null;
+    window = null;
+    try (dataChannel; indexChannel) {
+      force();
+    }
+  }
+
+
+
+  // a view of the record bytes inside the current window
+  private ByteBuffer getRecord(long id) {
+    long recordOffset = getOffset(id);
+    if (!isInWindow(recordOffset, recordOffset + HypergraphCodec.HEADER_BYTE_SIZE)) {
+      remapWindow(recordOffset);
+    }
+    int recordStart = (int) (recordOffset - windowOffset);
+    long recordByteSize = HypergraphCodec.HEADER_BYTE_SIZE +
+        window.getLong(recordStart + HypergraphCodec.HEADER_BYTE_SIZE - Long.BYTES);
+    if (!isInWindow(recordOffset, recordOffset + recordByteSize)) {
+      remapWindow(recordOffset);
+      recordStart = 0;
+    }
+    return window.slice(recordStart, (int) recordByteSize);
+  }
+
+  private boolean isInWindow(long fromOffset, long toOffset) {
+    return window != null && fromOffset >= windowOffset && toOffset <= windowOffset + window.capacity();
+  }
+
+  // records are not bigger than the window, so a window starting at a record always holds it whole
+  private void remapWindow(long recordOffset) {
+    window = map(dataChannel, recordOffset, Math.min(dataByteSize - recordOffset, MAX_WINDOW_BYTE_SIZE));
+    windowOffset = recordOffset;
+  }
+
+  private long getOffset(long id) {
+    int mappedCount = offsets.capacity();
+    return id < mappedCount ? offsets.get((int) id) : appendedOffsets[(int) (id - mappedCount)];
+  }
+
+  // called before recordCount counts the record, so a remap covers exactly the records appended before it
+  private void addAppendedOffset(long offset) {
+    int maxCount = Math.clamp(offsets.capacity(), MIN_APPENDED_OFFSET_COUNT, MAX_APPENDED_OFFSET_COUNT);
+    if (appendedOffsetCount >= maxCount) {
+      offsets = mapOffsets();
+      appendedOffsetCount = 0;
+    }
+    if (appendedOffsetCount == appendedOffsets.length) {
+      appendedOffsets = Arrays.copyOf(appendedOffsets, 2 * appendedOffsets.length);
+    }
+    appendedOffsets[appendedOffsetCount++] = offset;
+  }
+
+  private LongBuffer mapOffsets() {
+    return map(indexChannel, 0, recordCount * Long.BYTES).asLongBuffer();
+  }
+
+  // The record size is taken from its header: the payload size is its last field.
+  // Returns -1 unless the header is intact and the whole record lies within the data file
+  private long readRecordEnd(long recordOffset, long dataFileSize) throws IOException {
+    if (recordOffset < 0 || recordOffset > dataFileSize - HypergraphCodec.HEADER_BYTE_SIZE) {
+      return -1;
+    }
+    ByteBuffer header = ByteBuffer.allocate(HypergraphCodec.HEADER_BYTE_SIZE);
+    readFully(dataChannel, header, recordOffset);
+    long payloadByteSize = header.getLong(HypergraphCodec.HEADER_BYTE_SIZE - Long.BYTES);
+    if (header.getInt(0) != HypergraphCodec.MAGIC || payloadByteSize < 0 ||
+        payloadByteSize > dataFileSize - recordOffset - HypergraphCodec.HEADER_BYTE_SIZE) {
+      return -1;
+    }
+    return recordOffset + HypergraphCodec.HEADER_BYTE_SIZE + payloadByteSize;
+  }
+
+  private static long readLong(FileChannel channel, long position) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES);
+    readFully(channel, buffer, position);
+    return buffer.getLong(0);
+  }
+
+  private static MappedByteBuffer map(FileChannel channel, long position, long size) {
+    try {
+      return channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+    } catch (IOException e) {
+      throw new IllegalStateException("Key store is unreadable", e);
+    }
+  }
+
+  private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer, position + buffer.position()) < 0) {
+        throw new IOException("Unexpected end of file");
+      }
+    }
+  }
+
+  private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+    while (buffer.hasRemaining()) {
+      channel.write(buffer, position + buffer.position());
+    }
+  }
+}
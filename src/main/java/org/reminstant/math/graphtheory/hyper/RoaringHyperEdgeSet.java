@@ -0,0 +1,188 @@
+package org.reminstant.math.graphtheory.hyper;
+
+import java.util.Arrays;
+
+// Roaring-style bitmap over 64-bit edge indices: the high 48 bits select a container,
+// the low 16 bits are kept in a sorted char[] or, past 4096 entries, in a 1024-word bitmap
+final class RoaringHyperEdgeSet implements HyperEdgeSet {
+
+  private static final int ARRAY_MAX_CARDINALITY = 4096;
+  private static final int BITMAP_WORD_COUNT = 1 << 10;
+  private static final int CONTAINER_BYTE_OVERHEAD = 40;
+
+  private long[] keys;
+  // exactly one of arrays[i] and bitmaps[i] is set for every container
+  private char[][] arrays;
+  private long[][] bitmaps;
+  private int[] cardinalities;
+  private int containerCount;
+  private long cardinality;
+  private long estimatedByteSize;
+
+  RoaringHyperEdgeSet() {
+    this.keys = new long[4];
+    this.arrays = new char[4][];
+    this.bitmaps = new long[4][];
+    this.cardinalities = new int[4];
+    this.estimatedByteSize = 64;
+  }
+
+  @Override
+  public long cardinality() {
+    return cardinality;
+  }
+
+  @Override
+  public boolean contains(long edgeIndex) {
+    int container = Arrays.binarySearch(keys, 0, containerCount, edgeIndex >>> 16);
+    if (container < 0) {
+      return false;
+    }
+    char low = (char) edgeIndex;
+    if (bitmaps[container] != null) {
+      return (bitmaps[container][low >>> 6] & (1L << low)) != 0;
+    }
+    return Arrays.binarySearch(arrays[container], 0, cardinalities[container], low) >= 0;
+  }
+
+  @Override
+  public boolean add(long edgeIndex) {
+    long key = edgeIndex >>> 16;
+    char low = (char) edgeIndex;
+    int container = Arrays.binarySearch(keys, 0, containerCount, key);
+    if (container < 0) {
+      container = -(container + 1);
+      insertContainer(container, key);
+    }
+
+    if (bitmaps[container] != null) {
+      long[] bitmap = bitmaps[container];
+      if ((bitmap[low >>> 6] & (1L << low)) != 0) {
+        return false;
+      }
+      bitmap[low >>> 6] |= 1L << low;
+    } else {
+      char[] array = arrays[container];
+      int size = cardinalities[container];
+      int position = Arrays.binarySearch(array, 0, size, low);
+      if (position >= 0) {
+        return false;
+      }
+      position = -(position + 1);
+
+      if (size == ARRAY_MAX_CARDINALITY) {
+        convertToBitmap(container);
+        bitmaps[container][low >>> 6] |= 1L << low;
+      } else {
+        if (size == array.length) {
+          int capacity = Math.min(ARRAY_MAX_CARDINALITY, size * 2);
+          estimatedByteSize += (long) (capacity - size) * Character.BYTES;
+          array = Arrays.copyOf(array, capacity);
+          arrays[container] = array;
+        }
+        System.arraycopy(array, position, array, position + 1, size - position);
+        array[position] = low;
+      }
+    }
+    cardinalities[container]++;
+    cardinality++;
+    return true;
+  }
+
+  @Override
+  public long next(long fromIndex) {
+    fromIndex = Math.max(fromIndex, 0);
+    int container = Arrays.binarySearch(keys, 0, containerCount, fromIndex >>> 16);
+    int fromLow = (int) (fromIndex & 0xFFFF);
+    if (container < 0) {
+      container = -(container + 1);
+      fromLow = 0;
+    }
+
+    for (; container < containerCount; ++container, fromLow = 0) {
+      int low = nextInContainer(container, fromLow);
+      if (low >= 0) {
+        return keys[container] << 16 | low;
+      }
+    }
+    return -1;
+  }
+
+  @Override
+  public long estimatedByteSize() {
+    return estimatedByteSize;
+  }
+
+  @Override
+  public HyperEdgeSet copy() {
+    RoaringHyperEdgeSet copy = new RoaringHyperEdgeSet();
+    copy.keys = Arrays.copyOf(keys, keys.length);
+    copy.arrays = new char[keys.length][];
+    copy.bitmaps = new long[keys.length][];
+    for (int i = 0; i < containerCount; ++i) {
+      copy.arrays[i] = arrays[i] == null ? null : arrays[i].clone();
+      copy.bitmaps[i] = bitmaps[i] == null ? null : bitmaps[i].clone();
+    }
+    copy.cardinalities = Arrays.copyOf(cardinalities, cardinalities.length);
+    copy.containerCount = containerCount;
+    copy.cardinality = cardinality;
+    copy.estimatedByteSize = estimatedByteSize;
+    return copy;
+  }
+
+
+
+  private int nextInContainer(int container, int fromLow) {
+    if (bitmaps[container] != null) {
+      long[] bitmap = bitmaps[container];
+      int word = fromLow >>> 6;
+      long bits = bitmap[word] & (-1L << fromLow);
+      while (bits == 0) {
+        if (++word == BITMAP_WORD_COUNT) {
+          return -1;
+        }
+        bits = bitmap[word];
+      }
+      return (word << 6) + Long.numberOfTrailingZeros(bits);
+    }
+
+    int position = Arrays.binarySearch(arrays[container], 0, cardinalities[container], (char) fromLow);
+    if (position < 0) {
+      position = -(position + 1);
+    }
+    return position < cardinalities[container] ? arrays[container][position] : -1;
+  }
+
+  private void insertContainer(int container, long key) {
+    if (containerCount == keys.length) {
+      int capacity = containerCount * 2;
+      keys = Arrays.copyOf(keys, capacity);
+      arrays = Arrays.copyOf(arrays, capacity);
+      bitmaps = Arrays.copyOf(bitmaps, capacity);
+      cardinalities = Arrays.copyOf(cardinalities, capacity);
+    }
+    int tail = containerCount - container;
+    System.arraycopy(keys, container, keys, container + 1, tail);
+    System.arraycopy(arrays, container, arrays, container + 1, tail);
+    System.arraycopy(bitmaps, container, bitmaps, container + 1, tail);
+    System.arraycopy(cardinalities, container, cardinalities, container + 1, tail);
+
+    keys[container] = key;
+    arrays[container] = new char[2];
+    bitmaps[container] = null;
+    cardinalities[container] = 0;
+    containerCount++;
+    estimatedByteSize += CONTAINER_BYTE_OVERHEAD + 2 * Character.BYTES;
+  }
+
+  private void convertToBitmap(int container) {
+    long[] bitmap = new long[BITMAP_WORD_COUNT];
+    for (int i = 0; i < cardinalities[container]; ++i) {
+      char low = arrays[container][i];
+      bitmap[low >>> 6] |= 1L << low;
+    }
+    estimatedByteSize += (long) BITMAP_WORD_COUNT * Long.BYTES - (long) arrays[container].length * Character.BYTES;
+    arrays[container] = null;
+    bitmaps[container] = bitmap;
+  }
+}
@@ -0,0 +1,70 @@
+package org.reminstant.math.graphtheory.hyper;
+
+import java.util.Arrays;
+
+final class SortedHyperEdgeSet implements HyperEdgeSet {
+
+  private long[] edgeIndices;
+  private int size;
+
+  SortedHyperEdgeSet() {
+    this.edgeIndices = new long[4];
+  }
+
+  SortedHyperEdgeSet(long[] sortedEdgeIndices) {
+    this.edgeIndices = sortedEdgeIndices;
+    this.size = sortedEdgeIndices.length;
+  }
+
+  @Override
+  public long cardinality() {
+    return size;
+  }
+
+  @Override
+  public boolean contains(long edgeIndex) {
+    return Arrays.binarySearch(edgeIndices, 0, size, edgeIndex) >= 0;
+  }
+
+  // ascending insertions (the common case while building) are appended without a search
+  @Override
+  public boolean add(long edgeIndex) {
+    int position;
+    if (size == 0 || edgeIndices[size - 1] < edgeIndex) {
+      position = size;
+    } else {
+      position = Arrays.binarySearch(edgeIndices, 0, size, edgeIndex);
+      if (position >= 0) {
+        return false;
+      }
+      position = -(position + 1);
+    }
+
+    if (size == edgeIndices.length) {
+      edgeIndices = Arrays.copyOf(edgeIndices, Math.max(4, size + (size >> 1)));
+    }
+    System.arraycopy(edgeIndices, position, edgeIndices, position + 1, size - position);
+    edgeIndices[position] = edgeIndex;
+    size++;
+    return true;
+  }
+
+  @Override
+  public long next(long fromIndex) {
+    int position = Arrays.binarySearch(edgeIndices, 0, size, fromIndex);
+    if (position < 0) {
+      position = -(position + 1);
+    }
+    return position < size ? edgeIndices[position] : -1;
+  }
+
+  @Override
+  public long estimatedByteSize() {
+    return 16 + (long) edgeIndices.length * Long.BYTES;
+  }
+
+  @Override
+  public HyperEdgeSet copy() {
+    return new SortedHyperEdgeSet(Arrays.copyOf(edgeIndices, size));
+  }
+}
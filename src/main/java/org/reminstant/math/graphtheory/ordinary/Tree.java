@@ -1,6 +1,7 @@
 package org.reminstant.math.graphtheory.ordinary;
 
 import org.reminstant.math.IsomorphicallyComparable;
+import org.reminstant.math.graphtheory.GraphFingerprint;
 import org.reminstant.utils.ArrayUtils;
 import org.reminstant.structure.DisjointSetUnion;
 
@@ -13,6 +14,7 @@ public class Tree implements IsomorphicallyComparable<Tree> {
   private final int verticesCount;
   private final List<SortedSet<Integer>> adjacencyList;
   private String serializedStructure;
+  private Long isomorphismFingerprint;
 
 
   private Tree(int verticesCount, Set<Edge> edges) {
@@ -197,6 +199,20 @@ public class Tree implements IsomorphicallyComparable<Tree> {
   }
 
 
+  @Override
+  public long getIsomorphismFingerprint() {
+    if (isomorphismFingerprint == null) {
+      int[] edgeVertices = new int[2 * edges.size()];
+      int edgeOffset = 0;
+      for (Edge e : edges) {
+        edgeVertices[edgeOffset++] = e.u();
+        edgeVertices[edgeOffset++] = e.v();
+      }
+      isomorphismFingerprint = GraphFingerprint.of(verticesCount, 2, edgeVertices);
+    }
+    return isomorphismFingerprint;
+  }
+
   @Override
   public boolean isomorphicTo(Tree otherTree) {
     if (verticesCount != otherTree.verticesCount) {
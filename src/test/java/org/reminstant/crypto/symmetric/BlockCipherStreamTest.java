@@ -0,0 +1,145 @@
+package org.reminstant.crypto.symmetric;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.reminstant.math.graphtheory.hyper.HHExtendingGenerator;
+import org.reminstant.math.graphtheory.hyper.HomogenousHypergraph;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.reminstant.crypto.symmetric.HypergraphEncryptor.SmallBlockSizeUnit.BYTE;
+
+class BlockCipherStreamTest {
+
+  private static final MultiBlockEncryptor ENCRYPTOR = createEncryptor();
+
+  @TempDir
+  Path tempDir;
+
+  @ParameterizedTest
+  @ValueSource(ints = {0, 1, 13, 14, 15, 1000, 4099})
+  void testStreamRoundTrip(int length) throws IOException {
+    // SETUP
+    byte[] message = randomBytes(length);
+
+    // EXECUTION
+    ByteArrayOutputStream cipherStream = new ByteArrayOutputStream();
+    try (OutputStream out = new BlockCipherOutputStream(cipherStream, ENCRYPTOR, 64)) {
+      for (int i = 0; i < length; i += 7) {
+        out.write(message, i, Math.min(7, length - i));
+      }
+    }
+    byte[] cipher = cipherStream.toByteArray();
+
+    byte[] decrypted;
+    try (InputStream in = new BlockCipherInputStream(new ByteArrayInputStream(cipher), ENCRYPTOR, 64)) {
+      decrypted = in.readAllBytes();
+    }
+
+    // ASSERTION
+    int blockByteSize = ENCRYPTOR.getBlockByteSize();
+    assertThat(cipher).hasSize((length / blockByteSize + 1) * blockByteSize);
+    assertThat(decrypted).containsExactly(message);
+  }
+
+  @Test
+  void testStreamMatchesBlockEncryption() throws IOException {
+    // SETUP
+    int blockByteSize = ENCRYPTOR.getBlockByteSize();
+    byte[] message = randomBytes(3 * blockByteSize);
+    byte[] expectedCipher = message.clone();
+    ENCRYPTOR.encryptBlocks(expectedCipher, 0, 3);
+
+    // EXECUTION
+    ByteArrayOutputStream cipherStream = new ByteArrayOutputStream();
+    try (OutputStream out = new BlockCipherOutputStream(cipherStream, ENCRYPTOR)) {
+      out.write(message);
+    }
+
+    // ASSERTION
+    assertThat(Arrays.copyOf(cipherStream.toByteArray(), message.length)).containsExactly(expectedCipher);
+  }
+
+  @Test
+  void testTruncatedCipherIsRejected() throws IOException {
+    // SETUP
+    ByteArrayOutputStream cipherStream = new ByteArrayOutputStream();
+    try (OutputStream out = new BlockCipherOutputStream(cipherStream, ENCRYPTOR)) {
+      out.write(randomBytes(100));
+    }
+    byte[] cipher = cipherStream.toByteArray();
+    byte[] truncatedCipher = Arrays.copyOf(cipher, cipher.length - 1);
+
+    // EXECUTION
+    InputStream in = new BlockCipherInputStream(new ByteArrayInputStream(truncatedCipher), ENCRYPTOR);
+
+    // ASSERTION
+    assertThatThrownBy(in::readAllBytes).isInstanceOf(IOException.class);
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {0, 5, 14, 1000, 4099})
+  void testFileInPlaceRoundTrip(int length) throws IOException {
+    // SETUP
+    byte[] message = randomBytes(length);
+    Path file = Files.write(tempDir.resolve("data.bin"), message);
+    ByteArrayOutputStream cipherStream = new ByteArrayOutputStream();
+    try (OutputStream out = new BlockCipherOutputStream(cipherStream, ENCRYPTOR)) {
+      out.write(message);
+    }
+
+    // EXECUTION
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      BlockCipherFiles.encryptInPlace(channel, ENCRYPTOR, 100);
+    }
+    byte[] cipher = Files.readAllBytes(file);
+    BlockCipherFiles.decryptInPlace(file, ENCRYPTOR);
+
+    // ASSERTION
+    assertThat(cipher).containsExactly(cipherStream.toByteArray());
+    assertThat(Files.readAllBytes(file)).containsExactly(message);
+  }
+
+  @Test
+  void testFileInPlaceRoundTripWithOversizedWindow() throws IOException {
+    // SETUP
+    byte[] message = randomBytes(4099);
+    Path file = Files.write(tempDir.resolve("data.bin"), message);
+
+    // EXECUTION
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      BlockCipherFiles.encryptInPlace(channel, ENCRYPTOR, Long.MAX_VALUE);
+      BlockCipherFiles.decryptInPlace(channel, ENCRYPTOR, Long.MAX_VALUE);
+    }
+
+    // ASSERTION
+    assertThat(Files.readAllBytes(file)).containsExactly(message);
+  }
+
+
+
+  private static MultiBlockEncryptor createEncryptor() {
+    HomogenousHypergraph key = new HHExtendingGenerator(7, 3, 3, 28, 17).next();
+    return new HypergraphEncryptor(key, 2, BYTE, false);
+  }
+
+  private static byte[] randomBytes(int length) {
+    byte[] bytes = new byte[length];
+    new Random(length).nextBytes(bytes);
+    return bytes;
+  }
+}
@@ -0,0 +1,116 @@
+package org.reminstant.crypto.symmetric;
+
+import org.openjdk.jmh.annotations.*;
+import org.reminstant.crypto.symmetric.HypergraphEncryptor.SmallBlockSizeUnit;
+import org.reminstant.crypto.symmetric.HypergraphEncryptor.XorEngineType;
+import org.reminstant.math.graphtheory.hyper.HHExtendingGenerator;
+import org.reminstant.math.graphtheory.hyper.HHOverlappingGenerator;
+import org.reminstant.math.graphtheory.hyper.HomogenousHypergraph;
+import org.reminstant.math.Combinatorics;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Run with `gradle jmh`, throughput is reported by the megabytes counter (MB/s),
+// allocation rate by the gc profiler (gc.alloc.rate.norm, B/op).
+// verticesCount 13 runs BIT unit in batch mode, 16 keeps BIT blocks byte-aligned
+public class HypergraphEncryptorBenchmark {
+
+  private static final int EDGE_DIMENSION = 4;
+  private static final int PAYLOAD_BYTE_SIZE = 1 << 20;
+  private static final long KEY_SEED = 17;
+
+  public enum KeyShape {
+    SPARSE_EXTENDING,
+    DENSE_EXTENDING,
+    OVERLAPPING
+  }
+
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.OPERATIONS)
+  public static class Megabytes {
+
+    public double megabytes;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      megabytes = 0;
+    }
+  }
+
+  @State(Scope.Thread)
+  @BenchmarkMode(Mode.Throughput)
+  @OutputTimeUnit(TimeUnit.SECONDS)
+  @Warmup(iterations = 3, time = 2, timeUnit = TimeUnit.SECONDS)
+  @Measurement(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+  @Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+  public static class EncryptionBenchmark {
+
+    @Param({"BIT", "BYTE"})
+    public SmallBlockSizeUnit unit;
+
+    @Param({"1", "3", "8"})
+    public int smallBlockSize;
+
+    @Param({"13", "16"})
+    public int verticesCount;
+
+    @Param({"SPARSE_EXTENDING", "DENSE_EXTENDING", "OVERLAPPING"})
+    public KeyShape keyShape;
+
+    @Param({"SCALAR", "VECTOR"})
+    public XorEngineType xorEngine;
+
+    private HypergraphEncryptor encryptor;
+    private byte[] payload;
+    private byte[] block;
+    private int blockCount;
+
+    @Setup
+    public void setup() {
+      HomogenousHypergraph key = createKey(keyShape, verticesCount);
+      encryptor = new HypergraphEncryptor(key, smallBlockSize, unit, false, xorEngine);
+
+      int blockByteSize = encryptor.getBlockByteSize();
+      blockCount = Math.max(1, PAYLOAD_BYTE_SIZE / blockByteSize);
+      payload = new byte[blockCount * blockByteSize];
+      new Random(KEY_SEED).nextBytes(payload);
+      block = new byte[blockByteSize];
+      new Random(KEY_SEED).nextBytes(block);
+    }
+
+    @Benchmark
+    public byte[] encryptBlocks(Megabytes counter) {
+      encryptor.encryptBlocks(payload, 0, blockCount);
+      counter.megabytes += payload.length / 1e6;
+      return payload;
+    }
+
+    @Benchmark
+    public byte[] decryptBlocks(Megabytes counter) {
+      encryptor.decryptBlocks(payload, 0, blockCount);
+      counter.megabytes += payload.length / 1e6;
+      return payload;
+    }
+
+    @Benchmark
+    public byte[] encryptSingleBlock(Megabytes counter) {
+      counter.megabytes += block.length / 1e6;
+      return encryptor.encrypt(block);
+    }
+  }
+
+  static HomogenousHypergraph createKey(KeyShape keyShape, int verticesCount) {
+    int treeEdgeCount = (verticesCount - 1) / (EDGE_DIMENSION - 1);
+    int edgeMaxCount = Combinatorics.combinationCount(verticesCount, EDGE_DIMENSION).intValueExact();
+
+    return switch (keyShape) {
+      case SPARSE_EXTENDING -> new HHExtendingGenerator(
+          verticesCount, EDGE_DIMENSION, treeEdgeCount, treeEdgeCount, KEY_SEED).next();
+      case DENSE_EXTENDING -> new HHExtendingGenerator(
+          verticesCount, EDGE_DIMENSION, edgeMaxCount / 2, edgeMaxCount / 2, KEY_SEED).next();
+      case OVERLAPPING -> new HHOverlappingGenerator(
+          verticesCount, EDGE_DIMENSION, 4, KEY_SEED).next();
+    };
+  }
+}
@@ -1,17 +1,25 @@
 package org.reminstant.crypto.symmetric;
 
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.reminstant.crypto.symmetric.HypergraphEncryptor.SmallBlockSizeUnit;
+import org.reminstant.crypto.symmetric.HypergraphEncryptor.XorEngineType;
+import org.reminstant.math.graphtheory.hyper.HHExtendingGenerator;
 import org.reminstant.math.graphtheory.hyper.HomogenousHypergraph;
 import org.reminstant.math.graphtheory.hyper.HyperEdge;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.ByteBuffer;
 import java.util.Arrays;
+import java.util.Random;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.reminstant.crypto.symmetric.HypergraphEncryptor.SmallBlockSizeUnit.BIT;
 import static org.reminstant.crypto.symmetric.HypergraphEncryptor.SmallBlockSizeUnit.BYTE;
 
@@ -117,6 +125,169 @@ class HypergraphEncryptorTest {
     assertThat(actualMessage).containsExactly(expectedMessage);
   }
 
+  @ParameterizedTest
+  @MethodSource({"bitBlockModeProvider", "batchBlockModeProvider"})
+  void testEncryptBlocksWithBitSlicedMode(HomogenousHypergraph key, int smallBlockSize,
+                                          byte[] message, byte[] expectedCipher) {
+    // SETUP
+    boolean warn = false;
+    HypergraphEncryptor encryptor = new HypergraphEncryptor(key, smallBlockSize, BIT, warn);
+    int blockCount = 130;
+    byte[] messages = new byte[blockCount * message.length];
+    byte[] expectedCiphers = new byte[blockCount * message.length];
+    for (int i = 0; i < blockCount; ++i) {
+      System.arraycopy(message, 0, messages, i * message.length, message.length);
+      System.arraycopy(expectedCipher, 0, expectedCiphers, i * message.length, message.length);
+    }
+
+    // EXECUTION
+    encryptor.encryptBlocks(messages, 0, blockCount);
+
+    // ASSERTION
+    assertThat(messages).containsExactly(expectedCiphers);
+  }
+
+  @ParameterizedTest
+  @MethodSource("multiBlockModeProvider")
+  void testEncryptBlocksMatchesSingleBlockEncrypt(HomogenousHypergraph key, int smallBlockSize,
+                                                  SmallBlockSizeUnit unit) {
+    // SETUP
+    HypergraphEncryptor encryptor = new HypergraphEncryptor(key, smallBlockSize, unit, false);
+    int blockByteSize = encryptor.getBlockByteSize();
+    int blockCount = 33;
+    int srcOffset = 5;
+    int dstOffset = 3;
+
+    byte[] src = new byte[srcOffset + blockCount * blockByteSize];
+    new Random(blockByteSize).nextBytes(src);
+    byte[] originalSrc = Arrays.copyOf(src, src.length);
+
+    byte[] expectedCipher = new byte[blockCount * blockByteSize];
+    for (int i = 0; i < blockCount; ++i) {
+      int from = srcOffset + i * blockByteSize;
+      byte[] blockCipher = encryptor.encrypt(Arrays.copyOfRange(src, from, from + blockByteSize));
+      System.arraycopy(blockCipher, 0, expectedCipher, i * blockByteSize, blockByteSize);
+    }
+
+    // EXECUTION
+    byte[] dst = new byte[dstOffset + blockCount * blockByteSize];
+    encryptor.encryptBlocks(src, srcOffset, dst, dstOffset, blockCount);
+
+    // ASSERTION
+    assertThat(src).containsExactly(originalSrc);
+    assertThat(Arrays.copyOfRange(dst, dstOffset, dst.length)).containsExactly(expectedCipher);
+  }
+
+  @ParameterizedTest
+  @MethodSource("multiBlockModeProvider")
+  void testInPlaceBlocksRoundTrip(HomogenousHypergraph key, int smallBlockSize, SmallBlockSizeUnit unit) {
+    // SETUP
+    HypergraphEncryptor encryptor = new HypergraphEncryptor(key, smallBlockSize, unit, false);
+    int blockCount = 17;
+    int offset = 2;
+
+    byte[] data = new byte[offset + blockCount * encryptor.getBlockByteSize()];
+    new Random(blockCount).nextBytes(data);
+    byte[] originalData = Arrays.copyOf(data, data.length);
+
+    // EXECUTION
+    encryptor.encryptBlocks(data, offset, blockCount);
+    encryptor.decryptBlocks(data, offset, blockCount);
+
+    // ASSERTION
+    assertThat(data).containsExactly(originalData);
+  }
+
+  @ParameterizedTest
+  @MethodSource("multiBlockModeProvider")
+  void testEncryptBlocksWithDirectBuffers(HomogenousHypergraph key, int smallBlockSize,
+                                          SmallBlockSizeUnit unit) {
+    // SETUP
+    HypergraphEncryptor encryptor = new HypergraphEncryptor(key, smallBlockSize, unit, false);
+    int blockCount = 9;
+    int byteCount = blockCount * encryptor.getBlockByteSize();
+
+    byte[] message = new byte[byteCount];
+    new Random(byteCount).nextBytes(message);
+    byte[] expectedCipher = new byte[byteCount];
+    encryptor.encryptBlocks(message, 0, expectedCipher, 0, blockCount);
+
+    ByteBuffer src = ByteBuffer.allocateDirect(byteCount).put(message).flip();
+    ByteBuffer dst = ByteBuffer.allocateDirect(byteCount);
+
+    // EXECUTION
+    encryptor.encryptBlocks(src, dst);
+    byte[] actualCipher = new byte[byteCount];
+    dst.flip().get(actualCipher);
+
+    dst.rewind();
+    encryptor.decryptBlocks(dst);
+    byte[] actualMessage = new byte[byteCount];
+    dst.flip().get(actualMessage);
+
+    // ASSERTION
+    assertThat(src.remaining()).isZero();
+    assertThat(actualCipher).containsExactly(expectedCipher);
+    assertThat(actualMessage).containsExactly(message);
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+      "-1, 0, 1",
+      "0, -1, 1",
+      "0, 0, -1",
+      "1, 0, 2",
+      "0, 1, 2",
+  })
+  void testEncryptBlocksOutOfBounds(int srcOffset, int dstOffset, int blockCount) {
+    // SETUP
+    HomogenousHypergraph key = HomogenousHypergraph.ofEdges(HyperEdge.of(0, 1, 2));
+    HypergraphEncryptor encryptor = new HypergraphEncryptor(key, 1, BYTE);
+    byte[] src = new byte[2 * encryptor.getBlockByteSize()];
+    byte[] dst = new byte[2 * encryptor.getBlockByteSize()];
+
+    // EXECUTION & ASSERTION
+    assertThatThrownBy(() -> encryptor.encryptBlocks(src, srcOffset, dst, dstOffset, blockCount))
+        .isInstanceOf(RuntimeException.class);
+  }
+
+  @ParameterizedTest
+  @CsvSource({"1", "7", "8", "16", "17", "32", "33", "64", "100"})
+  void testVectorXorEngineMatchesScalar(int smallBlockSize) {
+    // SETUP
+    HomogenousHypergraph key = HomogenousHypergraph.ofEdges(
+        HyperEdge.of(0, 1, 4),
+        HyperEdge.of(0, 1, 5),
+        HyperEdge.of(1, 2, 3),
+        HyperEdge.of(3, 4, 5)
+    );
+    var scalarEncryptor = new HypergraphEncryptor(key, smallBlockSize, BYTE, false, XorEngineType.SCALAR);
+    var vectorEncryptor = new HypergraphEncryptor(key, smallBlockSize, BYTE, false, XorEngineType.VECTOR);
+    byte[] message = new byte[3 * scalarEncryptor.getBlockByteSize()];
+    new Random(smallBlockSize).nextBytes(message);
+
+    // EXECUTION
+    byte[] expectedCipher = message.clone();
+    scalarEncryptor.encryptBlocks(expectedCipher, 0, 3);
+    byte[] actualCipher = message.clone();
+    vectorEncryptor.encryptBlocks(actualCipher, 0, 3);
+    byte[] decrypted = actualCipher.clone();
+    vectorEncryptor.decryptBlocks(decrypted, 0, 3);
+
+    // ASSERTION
+    assertThat(actualCipher).containsExactly(expectedCipher);
+    assertThat(decrypted).containsExactly(message);
+  }
+
+  @Test
+  void testVectorXorEngineIsLoadedFromVectorSourceSet() {
+    // EXECUTION
+    XorEngine engine = XorEngine.vector();
+
+    // ASSERTION
+    assertThat(engine.getClass().getName()).isEqualTo(XorEngine.VECTOR_ENGINE_CLASS_NAME);
+  }
+
 
 
   static Stream<Arguments> byteBlockModeProvider() {
@@ -205,6 +376,25 @@ class HypergraphEncryptorTest {
     );
   }
 
+  static Stream<Arguments> multiBlockModeProvider() {
+    HomogenousHypergraph key = HomogenousHypergraph.ofEdges(
+        HyperEdge.of(0, 1, 4),
+        HyperEdge.of(0, 1, 5),
+        HyperEdge.of(1, 2, 3),
+        HyperEdge.of(3, 4, 5)
+    );
+    return Stream.of(
+        Arguments.of(key, 1, BYTE),
+        Arguments.of(key, 3, BYTE),
+        Arguments.of(key, 8, BIT),
+        Arguments.of(key, 4, BIT),
+        Arguments.of(key, 3, BIT),
+        Arguments.of(key, 1, BIT),
+        Arguments.of(key, 11, BYTE),
+        Arguments.of(new HHExtendingGenerator(67, 4, 22, 1000, 5).next(), 1, BIT)
+    );
+  }
+
   static Stream<Arguments> batchBlockModeProvider() {
     return Stream.of(
         Arguments.of(
@@ -0,0 +1,140 @@
+package org.reminstant.crypto.symmetric;
+
+import org.junit.jupiter.api.Test;
+import org.reminstant.crypto.symmetric.HypergraphEncryptor.XorEngineType;
+import org.reminstant.math.graphtheory.hyper.HomogenousHypergraph;
+import org.reminstant.math.graphtheory.hyper.HyperEdge;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.reminstant.crypto.symmetric.HypergraphEncryptor.SmallBlockSizeUnit.BYTE;
+
+class HypergraphKeyScheduleCacheTest {
+
+  @Test
+  void testScheduleMatchesAdjacentVertices() {
+    // SETUP
+    HomogenousHypergraph key = HomogenousHypergraph.ofEdges(
+        HyperEdge.of(0, 1, 4),
+        HyperEdge.of(0, 1, 5),
+        HyperEdge.of(1, 2, 3),
+        HyperEdge.of(3, 4, 5)
+    );
+
+    // EXECUTION
+    int[][] adjacencyLists = HypergraphKeySchedule.of(key).getAdjacencyLists();
+
+    // ASSERTION
+    assertThat(adjacencyLists.length).isEqualTo(4);
+    for (int vertex = 0; vertex < adjacencyLists.length; ++vertex) {
+      int fixedVertex = vertex;
+      assertThat(adjacencyLists[vertex]).containsExactly(key.getVerticesAdjacentTo(vertex)
+          .filter(v -> v > fixedVertex)
+          .sorted()
+          .toArray());
+    }
+  }
+
+  @Test
+  void testHitsAndMisses() {
+    // SETUP
+    var cache = new HypergraphKeyScheduleCache(HypergraphKeyScheduleCache.DEFAULT_MAX_WEIGHT);
+    HomogenousHypergraph key = HomogenousHypergraph.ofEdges(HyperEdge.of(0, 1, 2), HyperEdge.of(2, 3, 4));
+    HomogenousHypergraph equalKey = HomogenousHypergraph.ofEdges(HyperEdge.of(0, 1, 2), HyperEdge.of(2, 3, 4));
+
+    // EXECUTION
+    HypergraphKeySchedule schedule = cache.get(key);
+    HypergraphKeySchedule cachedSchedule = cache.get(equalKey);
+    new HypergraphEncryptor(key, 2, BYTE, false, XorEngineType.SCALAR, cache);
+
+    // ASSERTION
+    assertThat(cachedSchedule).isSameAs(schedule);
+    long expectedWeight = schedule.getWeight() + key.getEncoding().capacity();
+    assertThat(cache.getStats()).isEqualTo(new HypergraphKeyScheduleCache.Stats(2, 1, 0, 1, expectedWeight));
+  }
+
+  @Test
+  void testMutatedKeyIsNotServedStaleSchedule() {
+    // SETUP
+    var cache = new HypergraphKeyScheduleCache(HypergraphKeyScheduleCache.DEFAULT_MAX_WEIGHT);
+    HomogenousHypergraph key = HomogenousHypergraph.ofEdges(HyperEdge.of(0, 1, 2), HyperEdge.of(2, 3, 4));
+    HypergraphKeySchedule schedule = cache.get(key);
+
+    // EXECUTION
+    key.addEdge(HyperEdge.of(0, 3, 4));
+    HypergraphKeySchedule mutatedSchedule = cache.get(key);
+
+    // ASSERTION
+    assertThat(mutatedSchedule).isNotSameAs(schedule);
+    assertThat(mutatedSchedule.getAdjacencyLists()[0]).containsExactly(1, 2, 3, 4);
+    assertThat(cache.getStats().missCount()).isEqualTo(2);
+  }
+
+  @Test
+  void testIsomorphicKeysGetOwnSchedules() {
+    // SETUP
+    var cache = new HypergraphKeyScheduleCache(HypergraphKeyScheduleCache.DEFAULT_MAX_WEIGHT);
+    HomogenousHypergraph key = HomogenousHypergraph.ofEdges(HyperEdge.of(0, 1, 2), HyperEdge.of(2, 3, 4));
+    HomogenousHypergraph relabeledKey = HomogenousHypergraph.ofEdges(HyperEdge.of(0, 1, 4), HyperEdge.of(1, 2, 3));
+
+    // EXECUTION
+    HypergraphKeySchedule schedule = cache.get(key);
+    HypergraphKeySchedule relabeledSchedule = cache.get(relabeledKey);
+
+    // ASSERTION
+    assertThat(key.getIsomorphismFingerprint()).isEqualTo(relabeledKey.getIsomorphismFingerprint());
+    assertThat(relabeledSchedule).isNotSameAs(schedule);
+    assertThat(relabeledSchedule.getAdjacencyLists()[0]).containsExactly(1, 4);
+    assertThat(cache.getStats().missCount()).isEqualTo(2);
+  }
+
+  @Test
+  void testKeyEncodingIsWeighed() {
+    // SETUP
+    HomogenousHypergraph key = HomogenousHypergraph.ofEdges(HyperEdge.of(0, 1, 2), HyperEdge.of(2, 3, 4));
+    var cache = new HypergraphKeyScheduleCache(HypergraphKeySchedule.of(key).getWeight());
+
+    // EXECUTION
+    HypergraphKeySchedule schedule = cache.get(key);
+
+    // ASSERTION
+    assertThat(cache.get(key)).isNotSameAs(schedule);
+    assertThat(cache.getStats().size()).isZero();
+  }
+
+  @Test
+  void testClearResetsStats() {
+    // SETUP
+    var cache = new HypergraphKeyScheduleCache(HypergraphKeyScheduleCache.DEFAULT_MAX_WEIGHT);
+    HomogenousHypergraph key = HomogenousHypergraph.ofEdges(HyperEdge.of(0, 1, 2), HyperEdge.of(2, 3, 4));
+    cache.get(key);
+    cache.get(key);
+
+    // EXECUTION
+    cache.clear();
+
+    // ASSERTION
+    assertThat(cache.getStats()).isEqualTo(new HypergraphKeyScheduleCache.Stats(0, 0, 0, 0, 0));
+  }
+
+  @Test
+  void testLeastRecentlyUsedIsEvicted() {
+    // SETUP
+    HomogenousHypergraph firstKey = HomogenousHypergraph.ofEdges(HyperEdge.of(0, 1, 2), HyperEdge.of(2, 3, 4));
+    HomogenousHypergraph secondKey = HomogenousHypergraph.ofEdges(HyperEdge.of(0, 1, 4), HyperEdge.of(1, 2, 3));
+    HomogenousHypergraph thirdKey = HomogenousHypergraph.ofEdges(HyperEdge.of(0, 2, 4), HyperEdge.of(0, 1, 3));
+    long maxWeight = HypergraphKeySchedule.of(firstKey).getWeight() + firstKey.getEncoding().capacity()
+        + HypergraphKeySchedule.of(secondKey).getWeight() + secondKey.getEncoding().capacity();
+    var cache = new HypergraphKeyScheduleCache(maxWeight);
+
+    // EXECUTION
+    HypergraphKeySchedule firstSchedule = cache.get(firstKey);
+    cache.get(secondKey);
+    cache.get(firstKey);
+    cache.get(thirdKey);
+
+    // ASSERTION
+    assertThat(cache.get(firstKey)).isSameAs(firstSchedule);
+    assertThat(cache.getStats().evictionCount()).isEqualTo(1);
+    assertThat(cache.getStats().weight()).isLessThanOrEqualTo(maxWeight);
+  }
+}
@@ -0,0 +1,95 @@
+package org.reminstant.crypto.symmetric;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.reminstant.crypto.symmetric.HypergraphEncryptor.SmallBlockSizeUnit;
+import org.reminstant.math.graphtheory.hyper.HHExtendingGenerator;
+import org.reminstant.math.graphtheory.hyper.HomogenousHypergraph;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.reminstant.crypto.symmetric.HypergraphEncryptor.SmallBlockSizeUnit.BIT;
+import static org.reminstant.crypto.symmetric.HypergraphEncryptor.SmallBlockSizeUnit.BYTE;
+
+class HypergraphMatrixEncryptorTest {
+
+  @ParameterizedTest
+  @MethodSource("org.reminstant.crypto.symmetric.HypergraphEncryptorTest#byteBlockModeProvider")
+  void testEncryptWithByteBlockMode(HomogenousHypergraph key, int smallBlockSize,
+                                    byte[] message, byte[] expectedCipher) {
+    // SETUP
+    byte[] originalMessage = Arrays.copyOf(message, message.length);
+
+    // EXECUTION
+    var encryptor = new HypergraphMatrixEncryptor(key, smallBlockSize, BYTE);
+    byte[] actualCipher = encryptor.encrypt(message);
+
+    // ASSERTION
+    assertThat(message).containsExactly(originalMessage);
+    assertThat(actualCipher).containsExactly(expectedCipher);
+  }
+
+  @ParameterizedTest
+  @MethodSource("org.reminstant.crypto.symmetric.HypergraphEncryptorTest#bitBlockModeProvider")
+  void testDecryptWithBitBlockMode(HomogenousHypergraph key, int smallBlockSize,
+                                   byte[] expectedMessage, byte[] cipher) {
+    // SETUP
+    byte[] originalCipher = Arrays.copyOf(cipher, cipher.length);
+
+    // EXECUTION
+    var encryptor = new HypergraphMatrixEncryptor(key, smallBlockSize, BIT);
+    byte[] actualMessage = encryptor.decrypt(cipher);
+
+    // ASSERTION
+    assertThat(cipher).containsExactly(originalCipher);
+    assertThat(actualMessage).containsExactly(expectedMessage);
+  }
+
+  @ParameterizedTest
+  @MethodSource("org.reminstant.crypto.symmetric.HypergraphEncryptorTest#batchBlockModeProvider")
+  void testEncryptWithBatchMode(HomogenousHypergraph key, int smallBlockSize,
+                                byte[] message, byte[] expectedCipher) {
+    // EXECUTION
+    var encryptor = new HypergraphMatrixEncryptor(key, smallBlockSize, BIT);
+    byte[] actualCipher = encryptor.encrypt(message);
+
+    // ASSERTION
+    assertThat(actualCipher).containsExactly(expectedCipher);
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+      "7,  3, 1, BIT",
+      "9,  3, 1, BIT",
+      "10, 4, 3, BIT",
+      "13, 4, 1, BIT",
+      "64, 4, 1, BIT",
+      "7,  3, 2, BYTE",
+  })
+  void testMatchesHypergraphEncryptor(int verticesCount, int edgeDimension, int smallBlockSize,
+                                      SmallBlockSizeUnit unit) {
+    // SETUP
+    int treeEdgeCount = (verticesCount - 1) / (edgeDimension - 1);
+    HomogenousHypergraph key = new HHExtendingGenerator(
+        verticesCount, edgeDimension, treeEdgeCount, 4 * verticesCount, 17).next();
+    var referenceEncryptor = new HypergraphEncryptor(key, smallBlockSize, unit, false);
+    var encryptor = new HypergraphMatrixEncryptor(key, smallBlockSize, unit);
+    Random random = new Random(verticesCount);
+
+    for (int i = 0; i < 64; ++i) {
+      byte[] message = new byte[encryptor.getBlockByteSize()];
+      random.nextBytes(message);
+
+      // EXECUTION
+      byte[] cipher = encryptor.encrypt(message);
+      byte[] decrypted = encryptor.decrypt(cipher);
+
+      // ASSERTION
+      assertThat(cipher).containsExactly(referenceEncryptor.encrypt(message));
+      assertThat(decrypted).containsExactly(message);
+    }
+  }
+}
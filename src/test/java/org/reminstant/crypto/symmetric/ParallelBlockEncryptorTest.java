@@ -0,0 +1,122 @@
+package org.reminstant.crypto.symmetric;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.reminstant.crypto.symmetric.HypergraphEncryptor.SmallBlockSizeUnit;
+import org.reminstant.math.graphtheory.hyper.HHExtendingGenerator;
+import org.reminstant.math.graphtheory.hyper.HomogenousHypergraph;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ParallelBlockEncryptorTest {
+
+  private static ExecutorService executor;
+
+  @BeforeAll
+  static void setUp() {
+    executor = Executors.newFixedThreadPool(4);
+  }
+
+  @AfterAll
+  static void tearDown() {
+    executor.shutdown();
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+      "7,  3, 1, BIT,  1000",
+      "10, 4, 3, BIT,  257",
+      "13, 4, 1, BIT,  130",
+      "7,  3, 2, BYTE, 501",
+  })
+  void testEncryptBlocksMatchesSequential(int verticesCount, int edgeDimension, int smallBlockSize,
+                                          SmallBlockSizeUnit unit, int blockCount) {
+    // SETUP
+    var encryptor = createEncryptor(verticesCount, edgeDimension, smallBlockSize, unit);
+    var parallelEncryptor = new ParallelBlockEncryptor(encryptor, executor, 1);
+    int blockByteSize = encryptor.getBlockByteSize();
+    byte[] message = new byte[blockCount * blockByteSize];
+    new Random(blockCount).nextBytes(message);
+    byte[] expectedCipher = new byte[message.length];
+    encryptor.encryptBlocks(message, 0, expectedCipher, 0, blockCount);
+
+    // EXECUTION
+    byte[] cipher = new byte[message.length];
+    parallelEncryptor.encryptBlocks(message, 0, cipher, 0, blockCount);
+    ByteBuffer buffer = ByteBuffer.allocateDirect(message.length).put(message).flip();
+    parallelEncryptor.encryptBlocks(buffer);
+    byte[] decrypted = cipher.clone();
+    parallelEncryptor.decryptBlocks(decrypted, 0, blockCount);
+
+    // ASSERTION
+    byte[] bufferCipher = new byte[message.length];
+    buffer.flip().get(bufferCipher);
+    assertThat(cipher).containsExactly(expectedCipher);
+    assertThat(bufferCipher).containsExactly(expectedCipher);
+    assertThat(decrypted).containsExactly(message);
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+      "7,  3, 1, BIT,  0",
+      "7,  3, 1, BIT,  1",
+      "10, 4, 3, BIT,  1001",
+      "7,  3, 2, BYTE, 4099",
+  })
+  void testCtrRoundTrip(int verticesCount, int edgeDimension, int smallBlockSize,
+                        SmallBlockSizeUnit unit, int length) {
+    // SETUP
+    var encryptor = createEncryptor(verticesCount, edgeDimension, smallBlockSize, unit);
+    var parallelEncryptor = new ParallelBlockEncryptor(encryptor, executor, 1);
+    int blockByteSize = encryptor.getBlockByteSize();
+    Random random = new Random(length);
+    byte[] iv = new byte[blockByteSize];
+    random.nextBytes(iv);
+    iv[blockByteSize - 1] = (byte) 0xFF;
+    byte[] message = new byte[length];
+    random.nextBytes(message);
+
+    // EXECUTION
+    byte[] cipher = new byte[length];
+    parallelEncryptor.encryptCtr(iv, message, 0, cipher, 0, length);
+    byte[] decrypted = new byte[length];
+    parallelEncryptor.decryptCtr(iv, cipher, 0, decrypted, 0, length);
+
+    // ASSERTION
+    for (int i = 0; i < length; i += blockByteSize) {
+      byte[] counter = iv.clone();
+      addToCounter(counter, i / blockByteSize);
+      byte[] keystream = encryptor.encrypt(counter);
+      for (int j = i; j < Math.min(i + blockByteSize, length); ++j) {
+        assertThat(cipher[j]).isEqualTo((byte) (message[j] ^ keystream[j - i]));
+      }
+    }
+    assertThat(decrypted).containsExactly(message);
+  }
+
+
+
+  private static MultiBlockEncryptor createEncryptor(int verticesCount, int edgeDimension,
+                                                     int smallBlockSize, SmallBlockSizeUnit unit) {
+    int treeEdgeCount = (verticesCount - 1) / (edgeDimension - 1);
+    HomogenousHypergraph key = new HHExtendingGenerator(
+        verticesCount, edgeDimension, treeEdgeCount, 4 * verticesCount, 17).next();
+    return new HypergraphEncryptor(key, smallBlockSize, unit, false);
+  }
+
+  private static void addToCounter(byte[] counter, int value) {
+    int carry = value;
+    for (int i = counter.length - 1; i >= 0 && carry != 0; --i) {
+      int sum = Byte.toUnsignedInt(counter[i]) + (carry & 0xFF);
+      counter[i] = (byte) sum;
+      carry = (carry >>> Byte.SIZE) + (sum >>> Byte.SIZE);
+    }
+  }
+}
@@ -0,0 +1,64 @@
+package org.reminstant.math;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.reminstant.math.graphtheory.hyper.HomogenousHyperTree;
+import org.reminstant.math.graphtheory.hyper.HyperTreeGenerator;
+import org.reminstant.math.graphtheory.ordinary.Tree;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IsomorphicClassifierTest {
+
+  @ParameterizedTest
+  @CsvSource({
+      "5, 3",
+      "6, 6",
+      "7, 11",
+  })
+  void testTreeClassification(int verticesCount, int expectedClassCount) {
+    // SETUP
+    IsomorphicClassifier<Tree> classifier = new IsomorphicClassifier<>();
+    List<int[]> pruferCodes = Combinatorics.getArrangementsWithRepetition(verticesCount, verticesCount - 2);
+
+    // EXECUTION
+    for (int[] pruferCode : pruferCodes) {
+      classifier.add(Tree.ofPruferCode(pruferCode));
+    }
+
+    // ASSERTION
+    assertThat(classifier.getClassCount()).isEqualTo(expectedClassCount);
+    assertThat(classifier.getClassSizes().stream().mapToInt(Integer::intValue).sum())
+        .isEqualTo(pruferCodes.size());
+  }
+
+  @Test
+  void testHyperTreeClassificationMatchesPairwiseCheck() {
+    // SETUP
+    HyperTreeGenerator generator = new HyperTreeGenerator(13, 3, 3L);
+    IsomorphicClassifier<HomogenousHyperTree> classifier = new IsomorphicClassifier<>();
+
+    // EXECUTION
+    for (int i = 0; i < 500; ++i) {
+      classifier.add(generator.next());
+    }
+
+    // ASSERTION
+    List<List<HomogenousHyperTree>> classes = classifier.getClassification();
+    for (List<HomogenousHyperTree> isomorphicClass : classes) {
+      HomogenousHyperTree representative = isomorphicClass.getFirst();
+      for (HomogenousHyperTree tree : isomorphicClass) {
+        assertThat(tree.isomorphicTo(representative)).isTrue();
+        assertThat(tree.getIsomorphismFingerprint()).isEqualTo(representative.getIsomorphismFingerprint());
+      }
+    }
+    for (int i = 0; i < classes.size(); ++i) {
+      for (int j = i + 1; j < classes.size(); ++j) {
+        assertThat(classes.get(i).getFirst().isomorphicTo(classes.get(j).getFirst())).isFalse();
+      }
+    }
+  }
+}
@@ -156,4 +156,31 @@ class ArrangementWithRepetitionTest {
         .toIterable()
         .hasSize(count.intValueExact());
   }
+
+  @ParameterizedTest
+  @CsvSource({
+      "0, 0",
+      "3, 0",
+      "1, 4",
+      "3, 4",
+      "10, 3"
+  })
+  void test_longOrdinals_followGenerator(int n, int k) {
+    ArrangementWithRepetitionFactory factory = ArrangementWithRepetitionFactory.ofParams(n, k);
+    Sequence<int[]> generator = factory.sequence();
+
+    long ordinal = 0;
+    while (generator.hasNext()) {
+      int[] object = generator.next();
+      assertThat(factory.byOrdinal(ordinal))
+          .isEqualTo(object);
+      assertThat(factory.toOrdinalLong(object))
+          .isEqualTo(ordinal);
+      ordinal++;
+    }
+    assertThat(factory.hasLongOrdinals())
+        .isTrue();
+    assertThatThrownBy(() -> factory.byOrdinal(-1L))
+        .isInstanceOf(NoSuchElementException.class);
+  }
 }
@@ -0,0 +1,158 @@
+package org.reminstant.math.combinatorics;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.reminstant.junit.converter.CsvToIntArray;
+import org.reminstant.utils.sequence.Sequence;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BitsetTest {
+
+  @ParameterizedTest
+  @CsvSource({
+      "4, 0,  '[]'",
+      "4, 1,  '[3]'",
+      "4, 6,  '[1, 2]'",
+      "4, 15, '[0, 1, 2, 3]'",
+      "70, 1, '[69]'",
+      "70, 590295810358705651712, '[0]'"
+  })
+  void test_byOrdinal_happyPath(int n, BigInteger ordinal, @CsvToIntArray int[] expectedSetBits) {
+    BitSet bitSet = BitsetFactory.ofBitsCount(n).byOrdinal(ordinal);
+
+    assertThat(bitSet.stream().toArray())
+        .isEqualTo(expectedSetBits);
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+      "0, 0",
+      "4, -1",
+      "4, 16",
+      "70, 1180591620717411303424"
+  })
+  void test_byOrdinal_nonExistent(int n, BigInteger ordinal) {
+    BitsetFactory factory = BitsetFactory.ofBitsCount(n);
+
+    assertThatThrownBy(() -> factory.byOrdinal(ordinal))
+        .isInstanceOf(NoSuchElementException.class);
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+      "4, 0,  '[]'",
+      "4, 1,  '[3]'",
+      "4, 6,  '[1, 2]'",
+      "4, 15, '[0, 1, 2, 3]'",
+      "70, 1, '[69]'",
+      "70, 590295810358705651712, '[0]'"
+  })
+  void test_toOrdinal_happyPath(int n, BigInteger expectedOrdinal, @CsvToIntArray int[] setBits) {
+    BitSet bitSet = new BitSet();
+    Arrays.stream(setBits).forEach(bitSet::set);
+
+    BigInteger ordinal = BitsetFactory.ofBitsCount(n).toOrdinal(bitSet);
+
+    assertThat(ordinal)
+        .isEqualTo(expectedOrdinal);
+  }
+
+  @Test
+  void test_toOrdinal_invalidArguments() {
+    BitSet bitSet = new BitSet();
+    bitSet.set(4);
+
+    assertThatThrownBy(() -> BitsetFactory.ofBitsCount(4).toOrdinal(bitSet))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> BitsetFactory.ofBitsCount(0).toOrdinal(new BitSet()))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+      "1",
+      "5",
+      "10"
+  })
+  void test_generatorFollowsOrdinals(int n) {
+    BitsetFactory factory = BitsetFactory.ofBitsCount(n);
+    Sequence<BitSet> generator = factory.sequence();
+
+    long ordinal = 0;
+    while (generator.hasNext()) {
+      BitSet bitSet = generator.next();
+      assertThat(factory.byOrdinal(ordinal))
+          .isEqualTo(bitSet);
+      assertThat(factory.byOrdinal(BigInteger.valueOf(ordinal)))
+          .isEqualTo(bitSet);
+      assertThat(factory.toOrdinalLong(bitSet))
+          .isEqualTo(ordinal);
+      ordinal++;
+    }
+    assertThat(BigInteger.valueOf(ordinal))
+        .isEqualTo(factory.count());
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+      "62",
+      "63",
+      "64",
+      "65",
+      "130"
+  })
+  void test_ordinalRoundTrip(int n) {
+    BitsetFactory factory = BitsetFactory.ofBitsCount(n);
+    Random random = new Random(n);
+
+    for (int i = 0; i < 100; ++i) {
+      BigInteger ordinal = new BigInteger(n, random);
+      BitSet bitSet = factory.byOrdinal(ordinal);
+
+      assertThat(bitSet.length())
+          .isLessThanOrEqualTo(n);
+      assertThat(factory.toOrdinal(bitSet))
+          .isEqualTo(ordinal);
+      assertThat(bitSet.get(0))
+          .isEqualTo(ordinal.testBit(n - 1));
+    }
+  }
+
+  @Test
+  void test_nextInPlace_carry() {
+    BitsetFactory factory = BitsetFactory.ofBitsCount(130);
+    BitSet bitSet = new BitSet();
+    bitSet.set(0);
+    bitSet.set(2, 130);
+
+    boolean hasNext = factory.nextInPlace(bitSet);
+
+    assertThat(hasNext)
+        .isTrue();
+    assertThat(bitSet.stream().toArray())
+        .isEqualTo(new int[] {0, 1});
+  }
+
+  @Test
+  void test_nextInPlace_lastBitset() {
+    BitsetFactory factory = BitsetFactory.ofBitsCount(70);
+    BitSet bitSet = new BitSet();
+    bitSet.set(0, 70);
+
+    boolean hasNext = factory.nextInPlace(bitSet);
+
+    assertThat(hasNext)
+        .isFalse();
+    assertThat(bitSet.cardinality())
+        .isEqualTo(70);
+  }
+}
@@ -9,6 +9,7 @@ import org.reminstant.utils.sequence.Sequence;
 import java.math.BigInteger;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -132,4 +133,63 @@ class CombinationTest {
         .toIterable()
         .hasSize(count.intValueExact());
   }
+
+  @ParameterizedTest
+  @CsvSource({
+      "0, 0",
+      "5, 0",
+      "6, 5",
+      "10, 5",
+      "20, 3"
+  })
+  void test_longOrdinals_followGenerator(int n, int k) {
+    CombinationFactory factory = CombinationFactory.ofParams(n, k);
+    Sequence<int[]> generator = factory.sequence();
+
+    long ordinal = 0;
+    while (generator.hasNext()) {
+      int[] object = generator.next();
+      assertThat(factory.byOrdinal(ordinal))
+          .isEqualTo(object);
+      assertThat(factory.toOrdinalLong(object))
+          .isEqualTo(ordinal);
+      ordinal++;
+    }
+    assertThat(factory.hasLongOrdinals())
+        .isTrue();
+    assertThatThrownBy(() -> factory.byOrdinal(-1L))
+        .isInstanceOf(NoSuchElementException.class);
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+      "1000, 3",
+      "66, 33",
+      "600, 7"
+  })
+  void test_longOrdinals_matchBigIntegerOrdinals(int n, int k) {
+    CombinationFactory factory = CombinationFactory.ofParams(n, k);
+    long count = factory.count().longValueExact();
+
+    for (long ordinal = 0; ordinal < count; ordinal += count / 1000 + 1) {
+      int[] combination = factory.byOrdinal(ordinal);
+      assertThat(combination)
+          .isEqualTo(factory.byOrdinal(BigInteger.valueOf(ordinal)));
+      assertThat(factory.toOrdinalLong(combination))
+          .isEqualTo(ordinal);
+    }
+  }
+
+  @Test
+  void test_longOrdinals_countBeyondLong() {
+    CombinationFactory factory = CombinationFactory.ofParams(67, 33);
+    int[] lastCombination = IntStream.range(34, 67).toArray();
+
+    assertThat(factory.hasLongOrdinals())
+        .isFalse();
+    assertThat(factory.byOrdinal(0L))
+        .isEqualTo(IntStream.range(0, 33).toArray());
+    assertThatThrownBy(() -> factory.toOrdinalLong(lastCombination))
+        .isInstanceOf(ArithmeticException.class);
+  }
 }
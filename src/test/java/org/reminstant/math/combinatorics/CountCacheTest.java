@@ -0,0 +1,83 @@
+package org.reminstant.math.combinatorics;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CountCacheTest {
+
+  @ParameterizedTest
+  @CsvSource({
+      "-1, 2",
+      "2, -1"
+  })
+  void test_binomial_negativeArguments(int n, int k) {
+    assertThatThrownBy(() -> CountCache.binomial(n, k))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+      "0, 0, 1",
+      "0, 5, 0",
+      "6, 5, 6",
+      "10, 5, 252",
+      "100, 50, 100891344545564193334812497256",
+      "1000, 3, 166167000"
+  })
+  void test_binomial_happyPath(int n, int k, BigInteger expectedCount) {
+    assertThat(CountCache.binomial(n, k))
+        .isEqualTo(expectedCount);
+  }
+
+  @Test
+  void test_binomial_pascalRule() {
+    int n = CountCache.PASCAL_MAX_ROWS + 4;
+    for (int k = 1; k < n; k += 7) {
+      assertThat(CountCache.binomial(n, k))
+          .isEqualTo(CountCache.binomial(n - 1, k - 1).add(CountCache.binomial(n - 1, k)));
+    }
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+      "0, 0, 1",
+      "4, 1, 1",
+      "4, 0, 0",
+      "5, 2, 0",
+      "4, 2, 3",
+      "6, 3, 15",
+      "9, 3, 280",
+      "12, 4, 15400"
+  })
+  void test_uniformPartitionCount_happyPath(int n, int k, BigInteger expectedCount) {
+    assertThat(CountCache.uniformPartitionCount(n, k))
+        .isEqualTo(expectedCount);
+  }
+
+  @Test
+  void test_binomial_concurrentGrowth() {
+    List<CompletableFuture<BigInteger>> futures = new ArrayList<>();
+    for (int i = 0; i < 8; ++i) {
+      int n = 64 * (i + 1) - 1;
+      futures.add(CompletableFuture.supplyAsync(() -> CountCache.binomial(n, n / 2)));
+    }
+    for (int i = 0; i < futures.size(); ++i) {
+      int n = 64 * (i + 1) - 1;
+      BigInteger expectedCount = BigInteger.ONE;
+      for (int j = 1; j <= n / 2; ++j) {
+        expectedCount = expectedCount.multiply(BigInteger.valueOf(n - n / 2 + j)).divide(BigInteger.valueOf(j));
+      }
+      assertThat(futures.get(i).join())
+          .isEqualTo(expectedCount);
+    }
+  }
+}
@@ -0,0 +1,171 @@
+package org.reminstant.math.combinatorics;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.reminstant.junit.converter.CsvToIntArray;
+import org.reminstant.utils.sequence.Sequence;
+
+import java.math.BigInteger;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PermutationTest {
+
+  @Test
+  void test_initiation_negativeArgument() {
+    assertThatThrownBy(() -> PermutationFactory.ofParams(-1))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+      "0, 1",
+      "1, 1",
+      "4, 24",
+      "20, 2432902008176640000",
+      "21, 51090942171709440000"
+  })
+  void test_count_happyPath(int n, BigInteger expectedCount) {
+    BigInteger count = PermutationFactory.ofParams(n).count();
+
+    assertThat(count)
+        .isEqualTo(expectedCount);
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+      "0, 0,                    '[]'",
+      "4, 0,                    '[0, 1, 2, 3]'",
+      "4, 5,                    '[0, 3, 2, 1]'",
+      "4, 10,                   '[1, 3, 0, 2]'",
+      "4, 23,                   '[3, 2, 1, 0]'",
+      "21, 51090942171709439999, '[20, 19, 18, 17, 16, 15, 14, 13, 12, 11, 10, 9, 8, 7, 6, 5, 4, 3, 2, 1, 0]'"
+  })
+  void test_byOrdinal_happyPath(int n, BigInteger ordinal, @CsvToIntArray int[] expectedObject) {
+    int[] object = PermutationFactory.ofParams(n).byOrdinal(ordinal);
+
+    assertThat(object)
+        .isEqualTo(expectedObject);
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+      "0, 1",
+      "0, -1",
+      "4, 24",
+      "21, 51090942171709440000"
+  })
+  void test_byOrdinal_nonExistent(int n, BigInteger ordinal) {
+    PermutationFactory factory = PermutationFactory.ofParams(n);
+
+    assertThatThrownBy(() -> factory.byOrdinal(ordinal))
+        .isInstanceOf(NoSuchElementException.class);
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+      "0, 0,                    '[]'",
+      "4, 0,                    '[0, 1, 2, 3]'",
+      "4, 5,                    '[0, 3, 2, 1]'",
+      "4, 10,                   '[1, 3, 0, 2]'",
+      "4, 23,                   '[3, 2, 1, 0]'",
+      "21, 51090942171709439999, '[20, 19, 18, 17, 16, 15, 14, 13, 12, 11, 10, 9, 8, 7, 6, 5, 4, 3, 2, 1, 0]'"
+  })
+  void test_toOrdinal_happyPath(int n, BigInteger expectedOrdinal, @CsvToIntArray int[] object) {
+    BigInteger ordinal = PermutationFactory.ofParams(n).toOrdinal(object);
+
+    assertThat(ordinal)
+        .isEqualTo(expectedOrdinal);
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+      "4, '[]'",
+      "4, '[0, 1, 2]'",
+      "4, '[0, 1, 2, 4]'",
+      "4, '[0, 1, 1, 3]'",
+      "4, '[-1, 1, 2, 3]'"
+  })
+  void test_toOrdinal_invalidArguments(int n, @CsvToIntArray int[] object) {
+    PermutationFactory factory = PermutationFactory.ofParams(n);
+
+    assertThatThrownBy(() -> factory.toOrdinal(object))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> factory.toOrdinalLong(object))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+      "0",
+      "1",
+      "4",
+      "7"
+  })
+  void test_generatorFollowsOrdinals(int n) {
+    PermutationFactory factory = PermutationFactory.ofParams(n);
+    Sequence<int[]> generator = factory.sequence();
+
+    long ordinal = 0;
+    while (generator.hasNext()) {
+      int[] permutation = generator.next();
+      assertThat(factory.byOrdinal(ordinal))
+          .isEqualTo(permutation);
+      assertThat(factory.byOrdinal(BigInteger.valueOf(ordinal)))
+          .isEqualTo(permutation);
+      assertThat(factory.toOrdinalLong(permutation))
+          .isEqualTo(ordinal);
+      ordinal++;
+    }
+    assertThat(BigInteger.valueOf(ordinal))
+        .isEqualTo(factory.count());
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+      "20",
+      "21",
+      "100",
+      "1000"
+  })
+  void test_ordinalRoundTrip(int n) {
+    PermutationFactory factory = PermutationFactory.ofParams(n);
+    Random random = new Random(n);
+
+    for (int i = 0; i < 100; ++i) {
+      BigInteger ordinal = new BigInteger(factory.count().bitLength() + 8, random).mod(factory.count());
+      int[] permutation = factory.byOrdinal(ordinal);
+
+      assertThat(factory.isValid(permutation))
+          .isTrue();
+      assertThat(factory.toOrdinal(permutation))
+          .isEqualTo(ordinal);
+    }
+  }
+
+  @Test
+  void test_longOrdinals_boundary() {
+    PermutationFactory longFactory = PermutationFactory.ofParams(PermutationFactory.MAX_LONG_ORDINALS_N);
+    PermutationFactory bigFactory = PermutationFactory.ofParams(PermutationFactory.MAX_LONG_ORDINALS_N + 1);
+    long lastOrdinal = longFactory.count().longValueExact() - 1;
+    int[] lastPermutation = IntStream.range(0, PermutationFactory.MAX_LONG_ORDINALS_N)
+        .map(x -> PermutationFactory.MAX_LONG_ORDINALS_N - 1 - x)
+        .toArray();
+
+    assertThat(longFactory.hasLongOrdinals())
+        .isTrue();
+    assertThat(longFactory.byOrdinal(lastOrdinal))
+        .isEqualTo(lastPermutation);
+    assertThat(longFactory.toOrdinalLong(lastPermutation))
+        .isEqualTo(lastOrdinal);
+    assertThat(bigFactory.hasLongOrdinals())
+        .isFalse();
+    assertThat(bigFactory.byOrdinal(lastOrdinal))
+        .isEqualTo(bigFactory.byOrdinal(BigInteger.valueOf(lastOrdinal)));
+  }
+}
@@ -167,4 +167,68 @@ class UniformPartitionTest {
         .toIterable()
         .hasSize(count.intValueExact());
   }
+
+  @ParameterizedTest
+  @CsvSource({
+      "6, 2",
+      "6, 3",
+      "9, 3",
+      "12, 3",
+      "12, 4",
+      "15, 5",
+  })
+  void test_generatorFollowsOrdinals(int n, int k) {
+    UniformPartitionFactory factory = UniformPartitionFactory.ofParams(n, k);
+    Sequence<int[]> generator = factory.sequence();
+
+    BigInteger ordinal = BigInteger.ZERO;
+    while (generator.hasNext()) {
+      int[] partition = generator.next();
+      assertThat(partition)
+          .isEqualTo(factory.byOrdinal(ordinal));
+      ordinal = ordinal.add(BigInteger.ONE);
+    }
+    assertThat(ordinal)
+        .isEqualTo(factory.count());
+  }
+
+  @Test
+  void test_nextSetPartitionInPlace_lastPartition() {
+    int[] partition = { 0, 5, 1, 4, 2, 3 };
+    int[] first = { 0, 1, 2, 3, 4, 5 };
+
+    assertThat(Combinatorics.nextSetPartitionInPlace(6, 3, partition))
+        .isFalse();
+    assertThat(Combinatorics.nextSetPartitionInPlace(6, 3, first))
+        .isTrue();
+    assertThat(first)
+        .containsExactly(0, 1, 2, 4, 3, 5);
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+      "0, 0",
+      "6, 2",
+      "9, 3",
+      "12, 4",
+      "15, 5"
+  })
+  void test_longOrdinals_followGenerator(int n, int k) {
+    UniformPartitionFactory factory = UniformPartitionFactory.ofParams(n, k);
+    Sequence<int[]> generator = factory.sequence();
+
+    long ordinal = 0;
+    while (generator.hasNext()) {
+      int[] object = generator.next();
+      assertThat(factory.byOrdinal(ordinal))
+          .isEqualTo(object);
+      assertThat(factory.toOrdinalLong(object))
+          .isEqualTo(ordinal);
+      ordinal++;
+    }
+    assertThat(factory.hasLongOrdinals())
+        .isTrue();
+    assertThatThrownBy(() -> factory.byOrdinal(-1L))
+        .isInstanceOf(NoSuchElementException.class);
+  }
 }
@@ -0,0 +1,270 @@
+package org.reminstant.math.graphtheory.hyper;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HomogenousHypergraphTest {
+
+  @ParameterizedTest
+  @CsvSource({
+      "7,  3, 3,  10",
+      "13, 4, 4,  60",
+      "16, 4, 5,  400",
+      "21, 5, 5,  300",
+  })
+  void testIncidenceQueriesMatchEdges(int verticesCount, int edgeDimension, int edgeMinCount, int edgeMaxCount) {
+    // SETUP
+    HomogenousHypergraph graph = new HHExtendingGenerator(
+        verticesCount, edgeDimension, edgeMinCount, edgeMaxCount, 17).next();
+    List<HyperEdge> edges = graph.getEdges().toList();
+
+    for (int vertex = 0; vertex < verticesCount; ++vertex) {
+      int fixedVertex = vertex;
+      List<HyperEdge> expectedIncidentEdges = edges.stream()
+          .filter(edge -> edge.contains(fixedVertex))
+          .toList();
+      int[] expectedAdjacentVertices = expectedIncidentEdges.stream()
+          .flatMapToInt(HyperEdge::stream)
+          .filter(v -> v != fixedVertex)
+          .distinct()
+          .sorted()
+          .toArray();
+
+      // EXECUTION
+      List<HyperEdge> incidentEdges = graph.getEdgesIncidentTo(vertex).toList();
+      int[] adjacentVertices = graph.getVerticesAdjacentTo(vertex).toArray();
+      int degree = graph.getDegreesList().get(vertex);
+
+      // ASSERTION
+      assertThat(incidentEdges).isEqualTo(expectedIncidentEdges);
+      assertThat(adjacentVertices).containsExactly(expectedAdjacentVertices);
+      assertThat(degree).isEqualTo(expectedIncidentEdges.size());
+    }
+  }
+
+  @Test
+  void testIncidenceIsUpdatedAfterMutation() {
+    // SETUP
+    HomogenousHypergraph graph = HomogenousHypergraph.ofEdges(HyperEdge.of(0, 1, 2), HyperEdge.of(2, 3, 4));
+    HomogenousHypergraph other = HomogenousHypergraph.ofEdges(HyperEdge.of(1, 3, 4));
+    int[] adjacentVerticesBefore = graph.getVerticesAdjacentTo(0).toArray();
+
+    // EXECUTION
+    graph.addEdge(HyperEdge.of(0, 3, 4));
+    int[] adjacentVerticesAfterAdd = graph.getVerticesAdjacentTo(0).toArray();
+    graph.unionInPlace(other);
+    List<Integer> degreesAfterUnion = graph.getDegreesList();
+
+    // ASSERTION
+    assertThat(adjacentVerticesBefore).containsExactly(1, 2);
+    assertThat(adjacentVerticesAfterAdd).containsExactly(1, 2, 3, 4);
+    assertThat(degreesAfterUnion).containsExactly(2, 2, 2, 3, 3);
+    assertThat(graph.getVerticesAdjacentTo(5).toArray()).isEmpty();
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+      "7,  3, 1",
+      "9,  3, 2",
+      "13, 4, 1",
+      "16, 4, 11",
+      "21, 5, 97",
+  })
+  void testEdgeCursorMatchesEdges(int verticesCount, int edgeDimension, int edgeIndexStep) {
+    // SETUP
+    HomogenousHypergraph graph = new HomogenousHypergraph(verticesCount, edgeDimension);
+    long edgeMaxCount = HyperEdgeIndexer.of(verticesCount, edgeDimension).getEdgeCount();
+    for (long edgeIndex = 0; edgeIndex < edgeMaxCount; edgeIndex += edgeIndexStep + edgeIndex % 3) {
+      graph.addEdgeByIndex(edgeIndex);
+    }
+    List<HyperEdge> expectedEdges = graph.getEdges().toList();
+
+    // EXECUTION
+    List<HyperEdge> cursorEdges = new ArrayList<>();
+    List<Long> cursorEdgeIndices = new ArrayList<>();
+    EdgeCursor cursor = graph.edgeCursor();
+    while (cursor.next()) {
+      cursorEdges.add(cursor.toEdge());
+      cursorEdgeIndices.add(cursor.edgeIndex());
+    }
+    List<HyperEdge> consumedEdges = new ArrayList<>();
+    graph.forEachEdge((edgeIndex, vertices) -> consumedEdges.add(HyperEdge.of(vertices)));
+
+    // ASSERTION
+    assertThat(cursorEdges).isEqualTo(expectedEdges);
+    assertThat(consumedEdges).isEqualTo(expectedEdges);
+    assertThat(cursorEdgeIndices).isEqualTo(expectedEdges.stream()
+        .map(edge -> edge.getLongEdgeIndex(verticesCount))
+        .toList());
+    assertThat(cursor.next()).isFalse();
+  }
+
+  @Test
+  void testEdgeCursorReusesVertexBuffer() {
+    // SETUP
+    HomogenousHypergraph graph = HomogenousHypergraph.ofEdges(HyperEdge.of(0, 1, 2), HyperEdge.of(2, 3, 4));
+    EdgeCursor cursor = graph.edgeCursor();
+
+    // EXECUTION & ASSERTION
+    assertThatThrownBy(cursor::vertices).isInstanceOf(NoSuchElementException.class);
+    assertThat(cursor.next()).isTrue();
+    int[] vertices = cursor.vertices();
+    assertThat(cursor.vertex(2)).isEqualTo(2);
+    assertThat(cursor.next()).isTrue();
+    assertThat(cursor.vertices()).isSameAs(vertices).containsExactly(2, 3, 4);
+    assertThat(cursor.dimension()).isEqualTo(3);
+    assertThat(cursor.next()).isFalse();
+    assertThatThrownBy(cursor::edgeIndex).isInstanceOf(NoSuchElementException.class);
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+      "7,  3, 3,  10",
+      "31, 3, 15, 40",
+      "46, 4, 15, 60",
+      "61, 5, 15, 60",
+  })
+  void testCanonicalFormIsPermutationInvariant(int verticesCount, int edgeDimension, int edgeMinCount, int edgeMaxCount) {
+    // SETUP
+    HomogenousHypergraph graph = new HHExtendingGenerator(
+        verticesCount, edgeDimension, edgeMinCount, edgeMaxCount, 17).next();
+    List<Integer> permutation = new ArrayList<>(IntStream.range(0, verticesCount).boxed().toList());
+    Collections.shuffle(permutation, new Random(verticesCount));
+    HomogenousHypergraph permutedGraph = mapGraph(graph, permutation.stream().mapToInt(v -> v).toArray());
+
+    // EXECUTION
+    BitSet certificate = graph.getCanonicalCertificate();
+    BitSet permutedCertificate = permutedGraph.getCanonicalCertificate();
+    HomogenousHypergraph canonicalGraph = mapGraph(graph, graph.getCanonicalLabeling());
+
+    // ASSERTION
+    assertThat(permutedCertificate).isEqualTo(certificate);
+    assertThat(canonicalGraph.getEdgesBitset()).isEqualTo(certificate);
+    assertThat(graph.isomorphicTo(permutedGraph)).isTrue();
+  }
+
+  @Test
+  void testNonIsomorphicGraphs() {
+    // SETUP
+    // both 2-regular, but every two edges of the first graph intersect
+    HomogenousHypergraph pairwiseIntersecting = HomogenousHypergraph.ofEdges(
+        HyperEdge.of(0, 1, 2), HyperEdge.of(2, 3, 4), HyperEdge.of(4, 5, 0), HyperEdge.of(1, 3, 5));
+    HomogenousHypergraph other = HomogenousHypergraph.ofEdges(
+        HyperEdge.of(0, 1, 2), HyperEdge.of(3, 4, 5), HyperEdge.of(0, 1, 3), HyperEdge.of(2, 4, 5));
+    HomogenousHypergraph relabeledGraph = HomogenousHypergraph.ofEdges(
+        HyperEdge.of(5, 4, 3), HyperEdge.of(3, 2, 1), HyperEdge.of(1, 0, 5), HyperEdge.of(4, 2, 0));
+
+    // EXECUTION & ASSERTION
+    assertThat(pairwiseIntersecting.isomorphicTo(other)).isFalse();
+    assertThat(pairwiseIntersecting.isomorphicTo(relabeledGraph)).isTrue();
+    assertThat(pairwiseIntersecting.isomorphicTo(new HomogenousHypergraph(6, 3))).isFalse();
+  }
+
+  private static HomogenousHypergraph mapGraph(HomogenousHypergraph graph, int[] mapping) {
+    HomogenousHypergraph mappedGraph = new HomogenousHypergraph(graph.getVerticesCount(), graph.getEdgeDimension());
+    graph.getEdges().map(edge -> edge.mapBy(mapping)).forEach(mappedGraph::addEdge);
+    return mappedGraph;
+  }
+
+  @Test
+  void testLargeSparseGraph() {
+    // SETUP
+    HomogenousHypergraph graph = new HomogenousHypergraph(300, 5);
+    HomogenousHypergraph other = new HomogenousHypergraph(300, 5);
+    HyperEdge lastEdge = HyperEdge.of(295, 296, 297, 298, 299);
+    Random random = new Random(300);
+
+    // EXECUTION
+    for (int i = 0; i < 3000; ++i) {
+      long edgeIndex = (long) (random.nextDouble() * graph.getEdgeMaxCount());
+      graph.addEdgeByIndex(edgeIndex);
+      other.addEdge(HyperEdge.ofEdgeIndex(edgeIndex, 300, 5));
+    }
+    graph.addEdge(lastEdge);
+    other.addEdgeByIndex(graph.getEdgeMaxCount() - 1);
+
+    // ASSERTION
+    assertThat(graph.getEdgeMaxCount()).isEqualTo(19_582_837_560L);
+    assertThat(graph.getEdgeSet().estimatedByteSize()).isLessThan(64 * 1024);
+    assertThat(graph).isEqualTo(other);
+    assertThat(graph.hashCode()).isEqualTo(other.hashCode());
+    assertThat(graph.getEdges().toList().getLast()).isEqualTo(lastEdge);
+    assertThat(graph.getDegreesList().stream().mapToInt(Integer::intValue).sum()).isEqualTo(5 * graph.getEdgeCount());
+    assertThatThrownBy(graph::getEdgesBitset).isInstanceOf(UnsupportedOperationException.class);
+  }
+
+  @Test
+  void testSetAlgebra() {
+    // SETUP
+    HomogenousHypergraph graph = HomogenousHypergraph.ofEdges(
+        HyperEdge.of(0, 1, 2), HyperEdge.of(1, 2, 3), HyperEdge.of(2, 3, 4));
+    HomogenousHypergraph other = HomogenousHypergraph.ofEdges(
+        HyperEdge.of(1, 2, 3), HyperEdge.of(2, 3, 4), HyperEdge.of(0, 3, 4), HyperEdge.of(1, 3, 4));
+    HomogenousHypergraph union = new HomogenousHypergraph(5, 3);
+    HomogenousHypergraph intersection = new HomogenousHypergraph(5, 3);
+    HomogenousHypergraph difference = new HomogenousHypergraph(5, 3);
+    HomogenousHypergraph complement = new HomogenousHypergraph(5, 3);
+
+    // EXECUTION
+    HomogenousHypergraph.union(graph, other, union);
+    HomogenousHypergraph.intersection(graph, other, intersection);
+    HomogenousHypergraph.difference(graph, other, difference);
+    HomogenousHypergraph.complement(graph, complement);
+
+    // ASSERTION
+    assertThat(union.getEdgeCount()).isEqualTo(5);
+    assertThat(intersection.getEdges().toList()).containsExactly(HyperEdge.of(1, 2, 3), HyperEdge.of(2, 3, 4));
+    assertThat(difference.getEdges().toList()).containsExactly(HyperEdge.of(0, 1, 2));
+    assertThat(complement.getEdgeCount()).isEqualTo(7);
+    assertThat(complement.intersects(graph)).isFalse();
+    assertThat(union.containsAll(graph)).isTrue();
+    assertThat(union.containsAll(other)).isTrue();
+    assertThat(graph.containsAll(union)).isFalse();
+    assertThat(graph.intersectionCount(other)).isEqualTo(2);
+    assertThat(graph.jaccardSimilarity(other)).isEqualTo(0.4);
+    assertThat(new HomogenousHypergraph(5, 3).jaccardSimilarity(new HomogenousHypergraph(5, 3))).isEqualTo(1);
+    assertThatThrownBy(() -> graph.intersects(new HomogenousHypergraph(6, 3)))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void testDenseSetAlgebraInPlace() {
+    // SETUP
+    HomogenousHypergraph graph = new HomogenousHypergraph(12, 3);
+    HomogenousHypergraph other = new HomogenousHypergraph(12, 3);
+    for (int edgeIndex = 0; edgeIndex < 220; ++edgeIndex) {
+      if (edgeIndex % 2 == 0) {
+        graph.addEdgeByIndex(edgeIndex);
+      }
+      if (edgeIndex % 3 == 0) {
+        other.addEdgeByIndex(edgeIndex);
+      }
+    }
+    HomogenousHypergraph union = HomogenousHypergraph.copyOf(graph);
+    HomogenousHypergraph difference = HomogenousHypergraph.copyOf(graph);
+
+    // EXECUTION
+    union.unionInPlace(other);
+    HomogenousHypergraph.difference(difference, other, difference);
+    HomogenousHypergraph.complement(difference, difference);
+
+    // ASSERTION
+    assertThat(graph.getEdgeSet()).isInstanceOf(DenseHyperEdgeSet.class);
+    assertThat(union.getEdgeCount()).isEqualTo(110 + 74 - 37);
+    assertThat(graph.intersectionCount(other)).isEqualTo(37);
+    assertThat(difference.getEdgeCount()).isEqualTo(220 - (110 - 37));
+    assertThat(difference.containsAll(other)).isTrue();
+  }
+}
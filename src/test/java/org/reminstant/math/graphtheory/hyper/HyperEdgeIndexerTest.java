@@ -0,0 +1,74 @@
+package org.reminstant.math.graphtheory.hyper;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.reminstant.math.Combinatorics;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HyperEdgeIndexerTest {
+
+  @ParameterizedTest
+  @CsvSource({
+      "1,  1",
+      "5,  2",
+      "7,  3",
+      "10, 4",
+      "12, 6",
+      "13, 13",
+  })
+  void testMatchesCombinatoricsOrdinals(int verticesCount, int edgeDimension) {
+    // SETUP
+    HyperEdgeIndexer indexer = HyperEdgeIndexer.of(verticesCount, edgeDimension);
+    long edgeCount = Combinatorics.combinationCount(verticesCount, edgeDimension).longValueExact();
+    int[] vertices = new int[edgeDimension + 1];
+
+    // EXECUTION & ASSERTION
+    assertThat(indexer.getEdgeCount()).isEqualTo(edgeCount);
+    for (long edgeIndex = 0; edgeIndex < edgeCount; ++edgeIndex) {
+      indexer.getEdgeVertices(edgeIndex, vertices, 1);
+      int[] expectedVertices = Combinatorics.getCombinationByOrdinal(verticesCount, edgeDimension, edgeIndex);
+
+      assertThat(Arrays.copyOfRange(vertices, 1, edgeDimension + 1)).containsExactly(expectedVertices);
+      assertThat(indexer.getEdgeIndex(vertices, 1)).isEqualTo(edgeIndex);
+    }
+  }
+
+  @Test
+  void testLargeEdgeIndices() {
+    // SETUP
+    HyperEdgeIndexer indexer = HyperEdgeIndexer.of(256, 5);
+    long edgeIndex = indexer.getEdgeCount() - 12345;
+    int[] vertices = new int[5];
+
+    // EXECUTION
+    indexer.getEdgeVertices(edgeIndex, vertices, 0);
+
+    // ASSERTION
+    assertThat(BigInteger.valueOf(edgeIndex))
+        .isEqualTo(Combinatorics.getCombinationOrdinal(256, 5, vertices));
+    assertThat(indexer.getEdgeIndex(vertices, 0)).isEqualTo(edgeIndex);
+    assertThat(HyperEdgeIndexer.of(256, 5)).isSameAs(indexer);
+  }
+
+  @Test
+  void testInvalidArguments() {
+    // SETUP
+    HyperEdgeIndexer indexer = HyperEdgeIndexer.of(6, 3);
+
+    // EXECUTION & ASSERTION
+    assertThatThrownBy(() -> indexer.getEdgeIndex(new int[]{0, 2, 2}, 0))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> indexer.getEdgeIndex(new int[]{0, 2, 6}, 0))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> indexer.getEdgeVertices(20, new int[3], 0))
+        .isInstanceOf(IndexOutOfBoundsException.class);
+    assertThatThrownBy(() -> indexer.getEdgeVertices(0, new int[3], 1))
+        .isInstanceOf(IndexOutOfBoundsException.class);
+  }
+}
@@ -0,0 +1,186 @@
+package org.reminstant.math.graphtheory.hyper;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HyperEdgeSetTest {
+
+  static Stream<Arguments> backends() {
+    Supplier<HyperEdgeSet> sorted = SortedHyperEdgeSet::new;
+    Supplier<HyperEdgeSet> roaring = RoaringHyperEdgeSet::new;
+    Supplier<HyperEdgeSet> dense = () -> new DenseHyperEdgeSet(1 << 24);
+    return Stream.of(
+        Arguments.of("sorted", sorted, 1L << 40, 2000),
+        Arguments.of("roaring sparse", roaring, 1L << 40, 2000),
+        Arguments.of("roaring clustered", roaring, 1L << 18, 20000),
+        Arguments.of("dense", dense, 1L << 24, 20000)
+    );
+  }
+
+  @ParameterizedTest(name = "{0}")
+  @MethodSource("backends")
+  void testBackendMatchesTreeSet(String name, Supplier<HyperEdgeSet> backend, long span, int insertions) {
+    // SETUP
+    HyperEdgeSet edges = backend.get();
+    TreeSet<Long> expectedEdges = new TreeSet<>();
+    Random random = new Random(insertions);
+
+    // EXECUTION
+    for (int i = 0; i < insertions; ++i) {
+      long edgeIndex = (long) (random.nextDouble() * span);
+      assertThat(edges.add(edgeIndex)).isEqualTo(expectedEdges.add(edgeIndex));
+    }
+    HyperEdgeSet copy = edges.copy();
+
+    // ASSERTION
+    assertThat(edges.cardinality()).isEqualTo(expectedEdges.size());
+    assertThat(HyperEdgeSet.stream(edges).boxed().toList()).isEqualTo(new ArrayList<>(expectedEdges));
+    assertThat(HyperEdgeSet.equal(edges, copy)).isTrue();
+    for (int i = 0; i < 1000; ++i) {
+      long fromIndex = (long) (random.nextDouble() * span);
+      Long expectedNext = expectedEdges.ceiling(fromIndex);
+      assertThat(edges.next(fromIndex)).isEqualTo(expectedNext == null ? -1 : expectedNext);
+      assertThat(edges.contains(fromIndex)).isEqualTo(expectedEdges.contains(fromIndex));
+    }
+  }
+
+  @Test
+  void testAdaptChoosesBackendByDensity() {
+    // SETUP
+    long edgeMaxCount = 1L << 34;
+    HyperEdgeSet sparseEdges = HyperEdgeSet.create(edgeMaxCount);
+    HyperEdgeSet clusteredEdges = HyperEdgeSet.create(edgeMaxCount);
+    HyperEdgeSet denseEdges = HyperEdgeSet.create(1 << 16);
+    Random random = new Random(34);
+
+    // EXECUTION
+    for (int i = 0; i < 1 << 15; ++i) {
+      sparseEdges.add((long) (random.nextDouble() * edgeMaxCount));
+      sparseEdges = HyperEdgeSet.adapt(sparseEdges, edgeMaxCount);
+      clusteredEdges.add(((long) random.nextInt(8) << 20) + random.nextInt(1 << 16));
+      clusteredEdges = HyperEdgeSet.adapt(clusteredEdges, edgeMaxCount);
+      denseEdges.add(random.nextInt(1 << 16));
+      denseEdges = HyperEdgeSet.adapt(denseEdges, 1 << 16);
+    }
+
+    // ASSERTION
+    assertThat(sparseEdges).isInstanceOf(SortedHyperEdgeSet.class);
+    assertThat(clusteredEdges).isInstanceOf(RoaringHyperEdgeSet.class);
+    assertThat(denseEdges).isInstanceOf(DenseHyperEdgeSet.class);
+  }
+
+  @Test
+  void testEqualityIgnoresBackend() {
+    // SETUP
+    List<HyperEdgeSet> sets = List.of(new SortedHyperEdgeSet(), new RoaringHyperEdgeSet(), new DenseHyperEdgeSet(1 << 20));
+
+    // EXECUTION
+    for (HyperEdgeSet edges : sets) {
+      for (long edgeIndex : new long[]{5, 70000, 3, 1 << 19, 65535, 65536}) {
+        edges.add(edgeIndex);
+      }
+    }
+
+    // ASSERTION
+    for (HyperEdgeSet edges : sets) {
+      assertThat(HyperEdgeSet.equal(edges, sets.getFirst())).isTrue();
+      assertThat(HyperEdgeSet.hash(edges)).isEqualTo(HyperEdgeSet.hash(sets.getFirst()));
+      assertThat(HyperEdgeSet.containsAll(sets.getFirst(), edges)).isTrue();
+      assertThat(HyperEdgeSet.toBitSet(edges).stream().asLongStream().toArray())
+          .containsExactly(3, 5, 65535, 65536, 70000, 1 << 19);
+    }
+  }
+
+  static Stream<Arguments> backendPairs() {
+    List<String> backends = List.of("sorted", "roaring", "dense");
+    List<String> targets = List.of("sorted", "dense", "a", "b");
+    return backends.stream()
+        .flatMap(a -> backends.stream()
+            .flatMap(b -> targets.stream().map(target -> Arguments.of(a, b, target))));
+  }
+
+  @ParameterizedTest(name = "{0} op {1} into {2}")
+  @MethodSource("backendPairs")
+  void testSetAlgebraMatchesTreeSet(String backendA, String backendB, String target) {
+    // SETUP
+    int edgeMaxCount = 100_000;
+    Random random = new Random(backendA.hashCode() * 31L + backendB.hashCode());
+    TreeSet<Long> expectedA = new TreeSet<>();
+    TreeSet<Long> expectedB = new TreeSet<>();
+    for (int i = 0; i < 3000; ++i) {
+      expectedA.add((long) random.nextInt(edgeMaxCount / 2));
+      expectedB.add((long) random.nextInt(edgeMaxCount / 4, edgeMaxCount));
+    }
+    TreeSet<Long> expectedUnion = new TreeSet<>(expectedA);
+    expectedUnion.addAll(expectedB);
+    TreeSet<Long> expectedIntersection = new TreeSet<>(expectedA);
+    expectedIntersection.retainAll(expectedB);
+    TreeSet<Long> expectedDifference = new TreeSet<>(expectedA);
+    expectedDifference.removeAll(expectedB);
+
+    // EXECUTION
+    HyperEdgeSet union = applyTo(backendA, backendB, target, expectedA, expectedB, edgeMaxCount,
+        (a, b, t) -> HyperEdgeSet.union(a, b, t, edgeMaxCount));
+    HyperEdgeSet intersection = applyTo(backendA, backendB, target, expectedA, expectedB, edgeMaxCount,
+        (a, b, t) -> HyperEdgeSet.intersection(a, b, t, edgeMaxCount));
+    HyperEdgeSet difference = applyTo(backendA, backendB, target, expectedA, expectedB, edgeMaxCount,
+        (a, b, t) -> HyperEdgeSet.difference(a, b, t, edgeMaxCount));
+    HyperEdgeSet complement = applyTo(backendA, backendB, target, expectedA, expectedB, edgeMaxCount,
+        (a, b, t) -> HyperEdgeSet.complement(a, t == b ? a : t, edgeMaxCount));
+    HyperEdgeSet a = create(backendA, expectedA, edgeMaxCount);
+    HyperEdgeSet b = create(backendB, expectedB, edgeMaxCount);
+
+    // ASSERTION
+    assertThat(HyperEdgeSet.stream(union).boxed().toList()).isEqualTo(new ArrayList<>(expectedUnion));
+    assertThat(HyperEdgeSet.stream(intersection).boxed().toList()).isEqualTo(new ArrayList<>(expectedIntersection));
+    assertThat(HyperEdgeSet.stream(difference).boxed().toList()).isEqualTo(new ArrayList<>(expectedDifference));
+    assertThat(complement.cardinality()).isEqualTo(edgeMaxCount - expectedA.size());
+    assertThat(HyperEdgeSet.intersects(complement, a)).isFalse();
+    assertThat(HyperEdgeSet.intersects(a, b)).isEqualTo(!expectedIntersection.isEmpty());
+    assertThat(HyperEdgeSet.intersectionCount(a, b)).isEqualTo(expectedIntersection.size());
+    assertThat(HyperEdgeSet.containsAll(union, a)).isTrue();
+    assertThat(HyperEdgeSet.containsAll(a, union)).isFalse();
+    assertThat(HyperEdgeSet.containsAll(a, intersection)).isTrue();
+  }
+
+  @FunctionalInterface
+  private interface SetOperation {
+    HyperEdgeSet apply(HyperEdgeSet a, HyperEdgeSet b, HyperEdgeSet target);
+  }
+
+  private static HyperEdgeSet applyTo(String backendA, String backendB, String target,
+                                      TreeSet<Long> edgesA, TreeSet<Long> edgesB, int edgeMaxCount,
+                                      SetOperation operation) {
+    HyperEdgeSet a = create(backendA, edgesA, edgeMaxCount);
+    HyperEdgeSet b = create(backendB, edgesB, edgeMaxCount);
+    HyperEdgeSet targetEdges = switch (target) {
+      case "a" -> a;
+      case "b" -> b;
+      default -> create(target, new TreeSet<>(List.of(1L, 99_999L)), edgeMaxCount);
+    };
+    return operation.apply(a, b, targetEdges);
+  }
+
+  private static HyperEdgeSet create(String backend, TreeSet<Long> edgeIndices, int edgeMaxCount) {
+    HyperEdgeSet edges = switch (backend) {
+      case "sorted" -> new SortedHyperEdgeSet();
+      case "roaring" -> new RoaringHyperEdgeSet();
+      default -> new DenseHyperEdgeSet(edgeMaxCount);
+    };
+    for (long edgeIndex : edgeIndices) {
+      edges.add(edgeIndex);
+    }
+    return edges;
+  }
+}
@@ -0,0 +1,168 @@
+package org.reminstant.math.graphtheory.hyper;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HypergraphCodecTest {
+
+  @ParameterizedTest
+  @CsvSource({
+      "7,  3, 3,  10",
+      "16, 4, 5,  400",
+      "61, 5, 15, 60",
+  })
+  void testDataStreamRoundTrip(int verticesCount, int edgeDimension, int edgeMinCount, int edgeMaxCount)
+      throws IOException {
+    // SETUP
+    HomogenousHypergraph graph = new HHExtendingGenerator(
+        verticesCount, edgeDimension, edgeMinCount, edgeMaxCount, 17).next();
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+    // EXECUTION
+    HypergraphCodec.write(graph, new DataOutputStream(bytes));
+    HypergraphCodec.write(graph, new DataOutputStream(bytes));
+    DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+    HomogenousHypergraph first = HypergraphCodec.read(in);
+    HomogenousHypergraph second = HypergraphCodec.read(in);
+
+    // ASSERTION
+    assertThat(bytes.size()).isEqualTo(2 * HypergraphCodec.getEncodedByteSize(graph));
+    assertThat(first).isEqualTo(graph);
+    assertThat(second).isEqualTo(graph);
+  }
+
+  @Test
+  void testEncodingIsChosenBySize() {
+    // SETUP
+    HomogenousHypergraph denseGraph = new HomogenousHypergraph(12, 3);
+    for (int edgeIndex = 0; edgeIndex < 220; edgeIndex += 2) {
+      denseGraph.addEdgeByIndex(edgeIndex);
+    }
+    HomogenousHypergraph sparseGraph = new HomogenousHypergraph(300, 5);
+    Random random = new Random(300);
+    for (int i = 0; i < 1000; ++i) {
+      sparseGraph.addEdgeByIndex((long) (random.nextDouble() * sparseGraph.getEdgeMaxCount()));
+    }
+    ByteBuffer buffer = ByteBuffer.allocate(
+        Math.toIntExact(HypergraphCodec.getEncodedByteSize(denseGraph) + HypergraphCodec.getEncodedByteSize(sparseGraph)));
+
+    // EXECUTION
+    HypergraphCodec.write(denseGraph, buffer);
+    HypergraphCodec.write(sparseGraph, buffer);
+    buffer.flip();
+
+    // ASSERTION
+    // bitset words: 220 bits in 4 words
+    assertThat(HypergraphCodec.getEncodedByteSize(denseGraph)).isEqualTo(HypergraphCodec.HEADER_BYTE_SIZE + 32);
+    assertThat(HypergraphCodec.getEncodedByteSize(sparseGraph)).isLessThan(HypergraphCodec.HEADER_BYTE_SIZE + 5000);
+    assertThat(HypergraphCodec.read(buffer)).isEqualTo(denseGraph);
+    assertThat(HypergraphCodec.read(buffer)).isEqualTo(sparseGraph);
+    assertThat(buffer.hasRemaining()).isFalse();
+  }
+
+  @Test
+  void testMappedFileLoad(@TempDir Path directory) throws IOException {
+    // SETUP
+    HomogenousHypergraph graph = new HHExtendingGenerator(31, 3, 15, 40, 17).next();
+    Path file = directory.resolve("key.hhg");
+    try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(file))) {
+      HypergraphCodec.write(graph, out);
+    }
+
+    // EXECUTION
+    HomogenousHypergraph loadedGraph = HypergraphCodec.read(file);
+
+    // ASSERTION
+    assertThat(loadedGraph).isEqualTo(graph);
+  }
+
+  @Test
+  void testMalformedInput() {
+    // SETUP
+    HomogenousHypergraph graph = HomogenousHypergraph.ofEdges(HyperEdge.of(0, 1, 2), HyperEdge.of(2, 3, 4));
+    ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(HypergraphCodec.getEncodedByteSize(graph)));
+    HypergraphCodec.write(graph, buffer);
+    byte[] encoded = buffer.array();
+    byte[] truncated = Arrays.copyOf(encoded, encoded.length - 1);
+    byte[] wrongVersion = encoded.clone();
+    wrongVersion[4] = 2;
+
+    // EXECUTION & ASSERTION
+    assertThatThrownBy(() -> HypergraphCodec.read(ByteBuffer.wrap(truncated)))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> HypergraphCodec.read(ByteBuffer.wrap(wrongVersion)))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> HypergraphCodec.read(new DataInputStream(new ByteArrayInputStream(truncated))))
+        .isInstanceOf(IOException.class);
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+      // verticesCount, edgeDimension, edgeCount, payloadByteSize, encoding
+      "2147483647, 2,          0, 0,  0",
+      "65535,      65534,      0, 0,  0",
+      "5,          1,          0, 0,  0",
+      "200,        100,        0, 0,  0",
+      "5,          3,          11, 0, 1",
+      "5,          3,          -1, 0, 1",
+      "5,          3,          0, 16, 0",
+      "5,          3,          2, 21, 1",
+      "5,          3,          2, 1,  1",
+      "5,          3,          0, 0,  7",
+  })
+  void testInconsistentHeaderIsRejected(int verticesCount, int edgeDimension, long edgeCount,
+                                        long payloadByteSize, byte encoding) {
+    // SETUP
+    ByteBuffer buffer = ByteBuffer.allocate(HypergraphCodec.HEADER_BYTE_SIZE + 64)
+        .putInt(HypergraphCodec.MAGIC)
+        .put(HypergraphCodec.VERSION)
+        .put(encoding)
+        .putInt(verticesCount)
+        .putInt(edgeDimension)
+        .putLong(edgeCount)
+        .putLong(payloadByteSize)
+        .clear();
+
+    // EXECUTION & ASSERTION
+    assertThatThrownBy(() -> HypergraphCodec.read(buffer))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThat(buffer.position()).isZero();
+  }
+
+  @Test
+  void testByteOrderOfBufferIsIgnored() {
+    // SETUP
+    HomogenousHypergraph graph = new HHExtendingGenerator(16, 4, 5, 400, 17).next();
+    int encodedByteSize = Math.toIntExact(HypergraphCodec.getEncodedByteSize(graph));
+    ByteBuffer bigEndianBuffer = ByteBuffer.allocate(encodedByteSize);
+    ByteBuffer littleEndianBuffer = ByteBuffer.allocate(encodedByteSize).order(ByteOrder.LITTLE_ENDIAN);
+
+    // EXECUTION
+    HypergraphCodec.write(graph, bigEndianBuffer);
+    HypergraphCodec.write(graph, littleEndianBuffer);
+    HomogenousHypergraph decodedGraph = HypergraphCodec.read(littleEndianBuffer.flip());
+
+    // ASSERTION
+    assertThat(littleEndianBuffer.array()).containsExactly(bigEndianBuffer.array());
+    assertThat(littleEndianBuffer.order()).isEqualTo(ByteOrder.LITTLE_ENDIAN);
+    assertThat(littleEndianBuffer.hasRemaining()).isFalse();
+    assertThat(decodedGraph).isEqualTo(graph);
+  }
+}
@@ -0,0 +1,109 @@
+package org.reminstant.math.graphtheory.hyper;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HypergraphDegreeStatisticsTest {
+
+  @ParameterizedTest
+  @CsvSource({
+      "7,  3, 3,  10",
+      "16, 4, 5,  400",
+      "41, 5, 10, 20000",
+  })
+  void testStatisticsMatchEdges(int verticesCount, int edgeDimension, int edgeMinCount, int edgeMaxCount) {
+    // SETUP
+    HomogenousHypergraph graph = new HHExtendingGenerator(
+        verticesCount, edgeDimension, edgeMinCount, edgeMaxCount, 19).next();
+    int[][] expectedCoDegrees = new int[verticesCount][verticesCount];
+    for (HyperEdge edge : graph.getEdges().toList()) {
+      for (int u : edge) {
+        for (int v : edge) {
+          expectedCoDegrees[u][v]++;
+        }
+      }
+    }
+
+    // EXECUTION
+    HypergraphDegreeStatistics statistics = HypergraphDegreeStatistics.of(graph);
+
+    // ASSERTION
+    int[] histogram = statistics.getDegreeHistogram();
+    assertThat(graph.degrees()).isEqualTo(statistics.getDegrees());
+    for (int u = 0; u < verticesCount; ++u) {
+      assertThat(statistics.getCoDegrees(u)).isEqualTo(expectedCoDegrees[u]);
+      assertThat(histogram[statistics.getDegree(u)]).isPositive();
+    }
+    assertThat(histogram.length - 1).isEqualTo(statistics.getMaxDegree());
+    assertThat(histogram[statistics.getMinDegree()]).isPositive();
+  }
+
+  @Test
+  void testParallelSplitMatchesSequential() {
+    // SETUP
+    HomogenousHypergraph graph = new HomogenousHypergraph(34, 4);
+    Random random = new Random(34);
+    while (graph.getEdgeCount() < 2 * HypergraphDegreeStatistics.MIN_PARALLEL_EDGE_COUNT) {
+      graph.addEdgeByIndex(random.nextInt((int) graph.getEdgeMaxCount()));
+    }
+
+    // EXECUTION
+    HypergraphDegreeStatistics statistics = HypergraphDegreeStatistics.of(graph);
+    HypergraphDegreeStatistics parallelStatistics = HypergraphDegreeStatistics.of(graph, new ForkJoinPool(4));
+
+    // ASSERTION
+    assertThat(parallelStatistics.getDegrees()).isEqualTo(statistics.getDegrees());
+    assertThat(parallelStatistics.getDegreeHistogram()).isEqualTo(statistics.getDegreeHistogram());
+    for (int u = 0; u < graph.getVerticesCount(); ++u) {
+      assertThat(parallelStatistics.getCoDegrees(u)).isEqualTo(statistics.getCoDegrees(u));
+    }
+  }
+
+  @Test
+  void testParallelSplitOfSkewedEdgesMatchesSequential() {
+    // SETUP
+    // the edges through vertex 0 are the lowest indices, so they fill a small part of the index space
+    HomogenousHypergraph graph = new HomogenousHypergraph(300, 3);
+    for (int u = 1; u < graph.getVerticesCount(); ++u) {
+      for (int v = u + 1; v < graph.getVerticesCount(); ++v) {
+        graph.addEdge(HyperEdge.of(0, u, v));
+      }
+    }
+
+    // EXECUTION
+    HypergraphDegreeStatistics statistics = HypergraphDegreeStatistics.of(graph);
+    HypergraphDegreeStatistics parallelStatistics = HypergraphDegreeStatistics.of(graph, new ForkJoinPool(4));
+
+    // ASSERTION
+    assertThat(parallelStatistics.getDegrees()).isEqualTo(statistics.getDegrees());
+    for (int u = 0; u < graph.getVerticesCount(); ++u) {
+      assertThat(parallelStatistics.getCoDegrees(u)).isEqualTo(statistics.getCoDegrees(u));
+    }
+  }
+
+  @Test
+  void testDegreeHistogram() {
+    // SETUP
+    HomogenousHypergraph graph = HomogenousHypergraph.ofEdges(List.of(
+        HyperEdge.of(0, 1, 2), HyperEdge.of(0, 1, 3), HyperEdge.of(0, 4, 5)));
+
+    // EXECUTION
+    HypergraphDegreeStatistics statistics = HypergraphDegreeStatistics.of(graph);
+
+    // ASSERTION
+    assertThat(statistics.getDegrees()).containsExactly(3, 2, 1, 1, 1, 1);
+    assertThat(statistics.getDegreeHistogram()).containsExactly(0, 4, 1, 1);
+    assertThat(statistics.getCoDegree(0, 1)).isEqualTo(2);
+    assertThat(statistics.getCoDegree(4, 5)).isEqualTo(1);
+    assertThat(statistics.getCoDegree(2, 3)).isEqualTo(0);
+    assertThat(statistics.getMinDegree()).isEqualTo(1);
+    assertThat(statistics.getMaxDegree()).isEqualTo(3);
+  }
+}
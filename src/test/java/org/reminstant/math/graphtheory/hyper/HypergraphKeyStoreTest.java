@@ -0,0 +1,136 @@
+package org.reminstant.math.graphtheory.hyper;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HypergraphKeyStoreTest {
+
+  @Test
+  void testRandomAccessAndScanAfterReopen(@TempDir Path directory) throws IOException {
+    // SETUP
+    Path file = directory.resolve("keys.hhg");
+    HHExtendingGenerator generator = new HHExtendingGenerator(31, 3, 15, 200, 17);
+    List<HomogenousHypergraph> graphs = new ArrayList<>();
+    for (int i = 0; i < 200; ++i) {
+      graphs.add(generator.next());
+    }
+
+    // EXECUTION
+    try (HypergraphKeyStore store = HypergraphKeyStore.open(file)) {
+      for (HomogenousHypergraph graph : graphs.subList(0, 100)) {
+        store.append(graph);
+      }
+    }
+    List<HomogenousHypergraph> scannedGraphs = new ArrayList<>();
+    try (HypergraphKeyStore store = HypergraphKeyStore.open(file)) {
+      for (HomogenousHypergraph graph : graphs.subList(100, 200)) {
+        store.append(graph);
+      }
+      store.forEach(scannedGraphs::add);
+
+      // ASSERTION
+      assertThat(store.size()).isEqualTo(200);
+      for (int id = 199; id >= 0; id -= 7) {
+        assertThat(store.get(id)).isEqualTo(graphs.get(id));
+      }
+      assertThatThrownBy(() -> store.get(200)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+    assertThat(scannedGraphs).isEqualTo(graphs);
+  }
+
+  @Test
+  void testGetRightAfterAppendAcrossIndexRemaps(@TempDir Path directory) throws IOException {
+    // SETUP
+    Path file = directory.resolve("keys.hhg");
+    HHExtendingGenerator generator = new HHExtendingGenerator(13, 3, 6, 30, 5);
+    List<HomogenousHypergraph> graphs = new ArrayList<>();
+    for (int i = 0; i < 5000; ++i) {
+      graphs.add(generator.next());
+    }
+
+    // EXECUTION
+    try (HypergraphKeyStore store = HypergraphKeyStore.open(file)) {
+      for (int id = 0; id < graphs.size(); ++id) {
+        store.append(graphs.get(id));
+
+        // ASSERTION
+        assertThat(store.get(id)).isEqualTo(graphs.get(id));
+        assertThat(store.get(id / 2)).isEqualTo(graphs.get(id / 2));
+      }
+    }
+    try (HypergraphKeyStore store = HypergraphKeyStore.open(file)) {
+      assertThat(store.size()).isEqualTo(graphs.size());
+      assertThat(store.get(graphs.size() - 1)).isEqualTo(graphs.getLast());
+    }
+  }
+
+  @Test
+  void testInterruptedAppendIsDropped(@TempDir Path directory) throws IOException {
+    // SETUP
+    Path file = directory.resolve("keys.hhg");
+    HomogenousHypergraph graph = HomogenousHypergraph.ofEdges(HyperEdge.of(0, 1, 2), HyperEdge.of(2, 3, 4));
+    long dataByteSize;
+    try (HypergraphKeyStore store = HypergraphKeyStore.open(file)) {
+      store.append(graph);
+      dataByteSize = store.getDataByteSize();
+    }
+
+    // EXECUTION
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+      channel.write(ByteBuffer.wrap(new byte[]{0x48, 0x48, 0x4B}));
+    }
+    try (FileChannel channel = FileChannel.open(file.resolveSibling("keys.hhg" + HypergraphKeyStore.INDEX_FILE_SUFFIX),
+        StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+      channel.write(ByteBuffer.wrap(new byte[]{0, 0, 0}));
+    }
+
+    // ASSERTION
+    try (HypergraphKeyStore store = HypergraphKeyStore.open(file)) {
+      assertThat(store.size()).isEqualTo(1);
+      assertThat(store.getDataByteSize()).isEqualTo(dataByteSize);
+      assertThat(store.append(graph)).isEqualTo(1);
+      assertThat(store.get(1)).isEqualTo(graph);
+    }
+  }
+
+  @Test
+  void testIndexEntriesOfLostRecordsAreDropped(@TempDir Path directory) throws IOException {
+    // SETUP
+    Path file = directory.resolve("keys.hhg");
+    HomogenousHypergraph graph = HomogenousHypergraph.ofEdges(HyperEdge.of(0, 1, 2), HyperEdge.of(2, 3, 4));
+    long dataByteSize;
+    try (HypergraphKeyStore store = HypergraphKeyStore.open(file)) {
+      store.append(graph);
+      dataByteSize = store.getDataByteSize();
+      store.append(graph);
+    }
+
+    // EXECUTION
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+      channel.truncate(dataByteSize + 5);
+    }
+    try (FileChannel channel = FileChannel.open(file.resolveSibling("keys.hhg" + HypergraphKeyStore.INDEX_FILE_SUFFIX),
+        StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+      channel.write(ByteBuffer.allocate(Long.BYTES));
+    }
+
+    // ASSERTION
+    try (HypergraphKeyStore store = HypergraphKeyStore.open(file)) {
+      assertThat(store.size()).isEqualTo(1);
+      assertThat(store.getDataByteSize()).isEqualTo(dataByteSize);
+      assertThat(store.append(graph)).isEqualTo(1);
+      assertThat(store.get(1)).isEqualTo(graph);
+    }
+  }
+}
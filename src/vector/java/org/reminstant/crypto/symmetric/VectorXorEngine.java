@@ -0,0 +1,71 @@
+package org.reminstant.crypto.symmetric;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+// The accumulated XOR of a step stays in a vector register, one lane-wide chunk of the small blocks
+// at a time (chunks are disjoint, so loading before storing within a chunk is enough).
+// Widest species first, then narrower ones, so e.g. 32-byte small blocks still run as one 256-bit chunk
+// on a machine preferring 512-bit vectors. Species must stay static final constants to be intrinsified
+final class VectorXorEngine implements XorEngine {
+
+  private static final VectorSpecies<Byte> PREFERRED = ByteVector.SPECIES_PREFERRED;
+  private static final VectorSpecies<Byte> SPECIES_256 = ByteVector.SPECIES_256;
+  private static final VectorSpecies<Byte> SPECIES_128 = ByteVector.SPECIES_128;
+  private static final VectorSpecies<Byte> SPECIES_64 = ByteVector.SPECIES_64;
+
+  @Override
+  public void applyStep(byte[] data, int offset, int smallBlockByteSize, int vertex, int[] adjacentVertices,
+                        byte[] tmp) {
+    boolean includeVertex = (adjacentVertices.length & 1) == 1;
+
+    int i = 0;
+    for (int step = PREFERRED.length(); smallBlockByteSize - i >= step; i += step) {
+      applyStep(PREFERRED, data, offset + i, smallBlockByteSize, vertex, adjacentVertices, includeVertex);
+    }
+    if (PREFERRED.length() > SPECIES_256.length() && smallBlockByteSize - i >= SPECIES_256.length()) {
+      applyStep(SPECIES_256, data, offset + i, smallBlockByteSize, vertex, adjacentVertices, includeVertex);
+      i += SPECIES_256.length();
+    }
+    if (PREFERRED.length() > SPECIES_128.length() && smallBlockByteSize - i >= SPECIES_128.length()) {
+      applyStep(SPECIES_128, data, offset + i, smallBlockByteSize, vertex, adjacentVertices, includeVertex);
+      i += SPECIES_128.length();
+    }
+    if (PREFERRED.length() > SPECIES_64.length() && smallBlockByteSize - i >= SPECIES_64.length()) {
+      applyStep(SPECIES_64, data, offset + i, smallBlockByteSize, vertex, adjacentVertices, includeVertex);
+      i += SPECIES_64.length();
+    }
+
+    for (; i < smallBlockByteSize; ++i) {
+      byte acc = includeVertex ? data[offset + smallBlockByteSize * vertex + i] : 0;
+      for (int adjacentVertex : adjacentVertices) {
+        acc ^= data[offset + smallBlockByteSize * adjacentVertex + i];
+      }
+      data[offset + smallBlockByteSize * vertex + i] ^= acc;
+      for (int adjacentVertex : adjacentVertices) {
+        data[offset + smallBlockByteSize * adjacentVertex + i] ^= acc;
+      }
+    }
+  }
+
+  private static void applyStep(VectorSpecies<Byte> species, byte[] data, int offset, int smallBlockByteSize,
+                                int vertex, int[] adjacentVertices, boolean includeVertex) {
+    int vertexOffset = offset + smallBlockByteSize * vertex;
+    ByteVector vertexVector = ByteVector.fromArray(species, data, vertexOffset);
+
+    ByteVector acc = includeVertex ? vertexVector : ByteVector.zero(species);
+    for (int adjacentVertex : adjacentVertices) {
+      acc = acc.lanewise(VectorOperators.XOR,
+          ByteVector.fromArray(species, data, offset + smallBlockByteSize * adjacentVertex));
+    }
+
+    vertexVector.lanewise(VectorOperators.XOR, acc).intoArray(data, vertexOffset);
+    for (int adjacentVertex : adjacentVertices) {
+      int adjacentOffset = offset + smallBlockByteSize * adjacentVertex;
+      ByteVector.fromArray(species, data, adjacentOffset)
+          .lanewise(VectorOperators.XOR, acc)
+          .intoArray(data, adjacentOffset);
+    }
+  }
+}